@@ -0,0 +1,25 @@
+package com.kciftci.inghubsplatform.loanapireactive;
+
+import com.kciftci.inghubsplatform.loanapi.app.exception.GlobalExceptionHandler;
+import com.kciftci.inghubsplatform.loanapi.app.rest.validator.RequestValidator;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking variant of the loan API on WebFlux and R2DBC. Its configuration lives in
+ * {@code loan-reactive.yml}, so the {@code application*.yml} files of the servlet API on the
+ * classpath are not picked up.
+ */
+@SpringBootApplication
+@Import({RequestValidator.class, GlobalExceptionHandler.class})
+public class LoanApiReactiveApplication {
+
+    public static final String CONFIG_NAME = "spring.config.name=loan-reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(LoanApiReactiveApplication.class)
+            .properties(CONFIG_NAME)
+            .run(args);
+    }
+}
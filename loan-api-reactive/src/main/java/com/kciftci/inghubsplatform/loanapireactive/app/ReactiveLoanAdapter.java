@@ -0,0 +1,465 @@
+package com.kciftci.inghubsplatform.loanapireactive.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.exception.CustomerNotFoundException;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentMath;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ReactiveLoanPort} on R2DBC. Schedules are stored as {@code loan_installment} rows; loans
+ * with a {@code COMPACT} schedule are left to the servlet API.
+ * <p>
+ * Ids come from the same sequences as the JPA entities and follow Hibernate's pooled optimizer: a
+ * sequence value V reserves the block [V - increment + 1, V]. A loan takes one round trip for its id
+ * and one for the ids of all its installments, which fit in one block.
+ * <p>
+ * Loans created and paid here update {@code customer_exposure} and {@code customer_exposure_due} in the
+ * same transaction and lock order as {@code CustomerExposureStore}, so a database shared with the
+ * servlet API keeps one exposure per customer.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveLoanAdapter implements ReactiveLoanPort {
+
+    private static final String LOAN_COLUMNS =
+        "id, customer_id, loan_amount, interest, number_of_installment, created_at, is_paid";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    @Override
+    public Mono<LoanView> createLoan(Long customerId, BigDecimal amount, BigDecimal interest, int numberOfInstallments) {
+        BigDecimal totalLoanAmount = totalLoanAmount(amount, interest);
+        BigDecimal installmentAmount = totalLoanAmount.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
+
+        return reserveCredit(customerId, totalLoanAmount)
+            .then(Mono.defer(() -> {
+                ZonedDateTime now = ZonedDateTime.now();
+                ZonedDateTime firstDueDate = now.plusMonths(1).with(TemporalAdjusters.firstDayOfMonth());
+                return reserveIds("loan_seq", 1)
+                    .flatMap(loanId -> insertLoan(loanId, customerId, amount, interest, numberOfInstallments,
+                        installmentAmount, now, firstDueDate))
+                    .flatMap(loan -> insertInstallments(loan.getId(), numberOfInstallments, installmentAmount, firstDueDate)
+                        .then(addExposure(customerId, installmentAmount, numberOfInstallments, firstDueDate))
+                        .thenReturn(loan));
+            }))
+            .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<LoanSlice> listLoans(LoanFilter filter, LoanCursor after, int size) {
+        StringBuilder sql = new StringBuilder("SELECT " + LOAN_COLUMNS + " FROM loan WHERE customer_id = :customerId");
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("customerId", filter.getCustomerId());
+        if (filter.getIsPaid() != null) {
+            sql.append(" AND is_paid = :isPaid");
+            bindings.put("isPaid", filter.getIsPaid());
+        }
+        if (filter.getNumberOfInstallments() != null) {
+            sql.append(" AND number_of_installment = :numberOfInstallments");
+            bindings.put("numberOfInstallments", filter.getNumberOfInstallments());
+        }
+        if (filter.getCreatedFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            bindings.put("createdFrom", filter.getCreatedFrom().toOffsetDateTime());
+        }
+        if (filter.getCreatedBefore() != null) {
+            sql.append(" AND created_at < :createdBefore");
+            bindings.put("createdBefore", filter.getCreatedBefore().toOffsetDateTime());
+        }
+        if (filter.getMinAmount() != null) {
+            sql.append(" AND loan_amount >= :minAmount");
+            bindings.put("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            sql.append(" AND loan_amount <= :maxAmount");
+            bindings.put("maxAmount", filter.getMaxAmount());
+        }
+        if (after != null) {
+            sql.append(" AND (created_at > :afterCreatedAt OR (created_at = :afterCreatedAt AND id > :afterId))");
+            bindings.put("afterCreatedAt", after.getCreatedAt().toOffsetDateTime());
+            bindings.put("afterId", after.getId());
+        }
+        sql.append(" ORDER BY created_at, id LIMIT :limit");
+        bindings.put("limit", size + 1);
+
+        return databaseClient.sql(sql.toString())
+            .bindValues(bindings)
+            .map(ReactiveLoanAdapter::loanView)
+            .all()
+            .collectList()
+            .map(loans -> {
+                if (loans.size() <= size) {
+                    return LoanSlice.builder().loans(loans).build();
+                }
+                List<LoanView> page = loans.subList(0, size);
+                LoanView last = page.get(size - 1);
+                return LoanSlice.builder()
+                    .loans(page)
+                    .nextCursor(new LoanCursor(last.getCreatedAt(), last.getId()))
+                    .build();
+            });
+    }
+
+    @Override
+    public Flux<LoanInstallmentView> listLoanInstallments(Long loanId) {
+        return databaseClient.sql("SELECT li.id, li.loan_id, l.customer_id, li.amount, li.paid_amount, li.due_date, " +
+                "li.payment_date, li.is_paid FROM loan_installment li JOIN loan l ON l.id = li.loan_id " +
+                "WHERE li.loan_id = :loanId ORDER BY li.due_date")
+            .bind("loanId", loanId)
+            .map(row -> LoanInstallmentView.builder()
+                .id(row.get("id", Long.class))
+                .loanId(row.get("loan_id", Long.class))
+                .customerId(row.get("customer_id", Long.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .paidAmount(row.get("paid_amount", BigDecimal.class))
+                .dueDate(zoned(row.get("due_date", OffsetDateTime.class)))
+                .paymentDate(zoned(row.get("payment_date", OffsetDateTime.class)))
+                .isPaid(Boolean.TRUE.equals(row.get("is_paid", Boolean.class)))
+                .build())
+            .all();
+    }
+
+    @Override
+    public Mono<PayLoan> payLoan(Long loanId, BigDecimal amount, ZonedDateTime paymentDate) {
+        return databaseClient.sql("SELECT customer_id, loan_amount, interest, number_of_installment, paid_installment_count, " +
+                "schedule_storage FROM loan WHERE id = :loanId FOR UPDATE")
+            .bind("loanId", loanId)
+            .map(row -> new LockedLoan(
+                row.get("customer_id", Long.class),
+                row.get("loan_amount", BigDecimal.class),
+                row.get("interest", BigDecimal.class),
+                row.get("number_of_installment", Integer.class),
+                row.get("paid_installment_count", Integer.class),
+                ScheduleStorage.valueOf(row.get("schedule_storage", String.class))))
+            .one()
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Loan not found with id: " + loanId)))
+            .flatMap(loan -> {
+                if (loan.scheduleStorage() != ScheduleStorage.ROWS) {
+                    return Mono.error(new IllegalArgumentException("Loans with a " + loan.scheduleStorage()
+                        + " schedule are not supported by this API"));
+                }
+                return findUnpaid(loanId, paymentDate.plusMonths(3))
+                    .flatMap(unpaidInstallments -> pay(loanId, loan, unpaidInstallments, amount, paymentDate));
+            })
+            .as(transactionalOperator::transactional);
+    }
+
+    private Mono<PayLoan> pay(Long loanId, LockedLoan loan, List<UnpaidInstallment> unpaidInstallments,
+                              BigDecimal amount, ZonedDateTime paymentDate) {
+        if (unpaidInstallments.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("No payable installments found"));
+        }
+
+        BigDecimal installmentAmount = unpaidInstallments.get(0).amount();
+        int maxPayable = amount.divideToIntegralValue(installmentAmount).intValue();
+        if (maxPayable == 0) {
+            return Mono.error(new IllegalArgumentException("Amount is not enough to pay any installment"));
+        }
+
+        int toPay = Math.min(maxPayable, unpaidInstallments.size());
+        List<UnpaidInstallment> payable = unpaidInstallments.subList(0, toPay);
+        List<PaidInstallment> paidInstallments = new ArrayList<>(toPay);
+        BigDecimal totalAmountSpent = BigDecimal.ZERO;
+        for (UnpaidInstallment installment : payable) {
+            BigDecimal finalAmount = InstallmentMath.finalAmount(installment.amount(), installment.dueDate(), paymentDate);
+            paidInstallments.add(new PaidInstallment(installment.id(), finalAmount));
+            totalAmountSpent = totalAmountSpent.add(finalAmount);
+        }
+
+        int paidInstallmentCount = loan.paidInstallmentCount() + toPay;
+        boolean loanFullyPaid = paidInstallmentCount >= loan.numberOfInstallment();
+        PayLoan result = PayLoan.builder()
+            .loanId(loanId)
+            .installmentsPaid(toPay)
+            .totalAmountSpent(totalAmountSpent)
+            .loanFullyPaid(loanFullyPaid)
+            .build();
+
+        Mono<Long> creditRelease = loanFullyPaid
+            ? databaseClient.sql("UPDATE customer SET used_credit_limit = used_credit_limit - :amount WHERE id = :customerId")
+                .bind("amount", totalLoanAmount(loan.loanAmount(), loan.interest()))
+                .bind("customerId", loan.customerId())
+                .fetch()
+                .rowsUpdated()
+            : Mono.empty();
+
+        return markPaid(paidInstallments, paymentDate)
+            .then(databaseClient.sql("UPDATE loan SET paid_installment_count = :paidInstallmentCount, is_paid = :isPaid " +
+                    "WHERE id = :loanId")
+                .bind("paidInstallmentCount", paidInstallmentCount)
+                .bind("isPaid", loanFullyPaid)
+                .bind("loanId", loanId)
+                .fetch()
+                .rowsUpdated())
+            .then(creditRelease)
+            .then(removeExposure(loan.customerId(), payable, paidInstallments))
+            .thenReturn(result);
+    }
+
+    /**
+     * The credit reservation holds the customer row, so two first loans of a customer cannot both insert
+     * its exposure row.
+     */
+    private Mono<Void> addExposure(Long customerId, BigDecimal installmentAmount, int numberOfInstallments,
+                                   ZonedDateTime firstDueDate) {
+        BigDecimal scheduled = installmentAmount.multiply(BigDecimal.valueOf(numberOfInstallments));
+        Mono<Long> exposure = databaseClient.sql("UPDATE customer_exposure SET outstanding_amount = outstanding_amount + :amount " +
+                "WHERE customer_id = :customerId")
+            .bind("amount", scheduled)
+            .bind("customerId", customerId)
+            .fetch()
+            .rowsUpdated()
+            .flatMap(updated -> updated > 0
+                ? Mono.just(updated)
+                : databaseClient.sql("INSERT INTO customer_exposure (customer_id, outstanding_amount, paid_amount) " +
+                        "VALUES (:customerId, :amount, 0)")
+                    .bind("customerId", customerId)
+                    .bind("amount", scheduled)
+                    .fetch()
+                    .rowsUpdated());
+
+        Mono<Void> dues = databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement("MERGE INTO customer_exposure_due d " +
+                "USING (SELECT CAST($1 AS BIGINT) AS customer_id, CAST($2 AS DATE) AS due_day) s " +
+                "ON d.customer_id = s.customer_id AND d.due_day = s.due_day " +
+                "WHEN MATCHED THEN UPDATE SET unpaid_installments = d.unpaid_installments + 1 " +
+                "WHEN NOT MATCHED THEN INSERT (customer_id, due_day, unpaid_installments) VALUES (s.customer_id, s.due_day, 1)");
+            for (int i = 0; i < numberOfInstallments; i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                statement.bind(0, customerId)
+                    .bind(1, dueDay(firstDueDate.plusMonths(i)));
+            }
+            return Flux.from(statement.execute()).flatMap(result -> Mono.from(result.getRowsUpdated()));
+        }).then();
+
+        return exposure.then(dues);
+    }
+
+    /**
+     * Runs after the credit release, so the customer row is locked before its exposure as in createLoan.
+     * Paid amounts are rounded to the installment scale, as the {@code loan_installment} columns store them.
+     */
+    private Mono<Void> removeExposure(Long customerId, List<UnpaidInstallment> installments, List<PaidInstallment> paid) {
+        BigDecimal scheduled = BigDecimal.ZERO;
+        BigDecimal paidAmount = BigDecimal.ZERO;
+        for (int i = 0; i < installments.size(); i++) {
+            BigDecimal amount = installments.get(i).amount();
+            scheduled = scheduled.add(amount);
+            paidAmount = paidAmount.add(paid.get(i).paidAmount().setScale(amount.scale(), RoundingMode.HALF_UP));
+        }
+
+        Mono<Long> exposure = databaseClient.sql("UPDATE customer_exposure SET outstanding_amount = outstanding_amount - :scheduled, " +
+                "paid_amount = paid_amount + :paid WHERE customer_id = :customerId")
+            .bind("scheduled", scheduled)
+            .bind("paid", paidAmount)
+            .bind("customerId", customerId)
+            .fetch()
+            .rowsUpdated();
+
+        // installments of one loan fall on different days, so each day loses exactly one
+        Mono<Void> dues = databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement("UPDATE customer_exposure_due " +
+                "SET unpaid_installments = unpaid_installments - 1 WHERE customer_id = $1 AND due_day = $2");
+            for (int i = 0; i < installments.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                statement.bind(0, customerId)
+                    .bind(1, dueDay(installments.get(i).dueDate()));
+            }
+            return Flux.from(statement.execute()).flatMap(result -> Mono.from(result.getRowsUpdated()));
+        }).then();
+
+        Mono<Long> emptyDays = databaseClient.sql("DELETE FROM customer_exposure_due " +
+                "WHERE customer_id = :customerId AND unpaid_installments = 0")
+            .bind("customerId", customerId)
+            .fetch()
+            .rowsUpdated();
+
+        return exposure.then(dues).then(emptyDays).then();
+    }
+
+    private Mono<Void> reserveCredit(Long customerId, BigDecimal totalLoanAmount) {
+        return databaseClient.sql("UPDATE customer SET used_credit_limit = used_credit_limit + :amount " +
+                "WHERE id = :customerId AND credit_limit - used_credit_limit >= :amount")
+            .bind("amount", totalLoanAmount)
+            .bind("customerId", customerId)
+            .fetch()
+            .rowsUpdated()
+            .flatMap(updated -> {
+                if (updated > 0) {
+                    return Mono.empty();
+                }
+                return databaseClient.sql("SELECT COUNT(*) FROM customer WHERE id = :customerId")
+                    .bind("customerId", customerId)
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .flatMap(count -> Mono.<Void>error(count == 0
+                        ? new CustomerNotFoundException("Customer not found with this customerId: " + customerId)
+                        : new IllegalArgumentException("Customer does not have enough credit limit")));
+            });
+    }
+
+    /**
+     * @return the first of {@code count} ids at the top of the block a new sequence value reserves. The
+     * start value of a sequence has no block below it, so it is passed over for the next value.
+     */
+    private Mono<Long> reserveIds(String sequence, int count) {
+        return nextValue(sequence)
+            .flatMap(value -> value - count + 1 >= 1 ? Mono.just(value) : nextValue(sequence))
+            .map(value -> value - count + 1);
+    }
+
+    private Mono<Long> nextValue(String sequence) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR " + sequence)
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    private Mono<LoanView> insertLoan(Long loanId, Long customerId, BigDecimal amount, BigDecimal interest,
+                                      int numberOfInstallments, BigDecimal installmentAmount,
+                                      ZonedDateTime now, ZonedDateTime firstDueDate) {
+        // r2dbc-h2 binds strings as CLOB, which H2 does not convert to the ENUM column without the cast
+        return databaseClient.sql("INSERT INTO loan (id, customer_id, loan_amount, interest, number_of_installment, " +
+                "created_at, is_paid, paid_installment_count, schedule_storage, installment_amount, first_due_date, " +
+                "paid_installment_mask) VALUES (:id, :customerId, :amount, :interest, :numberOfInstallments, :createdAt, " +
+                "FALSE, 0, CAST(:scheduleStorage AS VARCHAR(16)), :installmentAmount, :firstDueDate, 0)")
+            .bind("id", loanId)
+            .bind("customerId", customerId)
+            .bind("amount", amount)
+            .bind("interest", interest)
+            .bind("numberOfInstallments", numberOfInstallments)
+            .bind("createdAt", now.toOffsetDateTime())
+            .bind("scheduleStorage", ScheduleStorage.ROWS.name())
+            .bind("installmentAmount", installmentAmount)
+            .bind("firstDueDate", firstDueDate.toOffsetDateTime())
+            .fetch()
+            .rowsUpdated()
+            .thenReturn(LoanView.builder()
+                .id(loanId)
+                .customerId(customerId)
+                .loanAmount(amount)
+                .interest(interest)
+                .numberOfInstallment(numberOfInstallments)
+                .createdAt(now)
+                .isPaid(false)
+                .build());
+    }
+
+    /**
+     * One statement with a binding per installment, sent to the database as a single batch.
+     */
+    private Mono<Void> insertInstallments(Long loanId, int numberOfInstallments, BigDecimal installmentAmount,
+                                          ZonedDateTime firstDueDate) {
+        return reserveIds("loan_installment_seq", numberOfInstallments)
+            .flatMap(firstId -> databaseClient.inConnectionMany(connection -> {
+                Statement statement = connection.createStatement("INSERT INTO loan_installment " +
+                    "(id, loan_id, amount, paid_amount, due_date, payment_date, is_paid) VALUES ($1, $2, $3, $4, $5, NULL, FALSE)");
+                for (int i = 0; i < numberOfInstallments; i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    statement.bind(0, firstId + i)
+                        .bind(1, loanId)
+                        .bind(2, installmentAmount)
+                        .bind(3, BigDecimal.ZERO)
+                        .bind(4, firstDueDate.plusMonths(i).toOffsetDateTime());
+                }
+                return Flux.from(statement.execute()).flatMap(result -> Mono.from(result.getRowsUpdated()));
+            }).then());
+    }
+
+    private Mono<List<UnpaidInstallment>> findUnpaid(Long loanId, ZonedDateTime maxDueDate) {
+        return databaseClient.sql("SELECT id, amount, due_date FROM loan_installment " +
+                "WHERE loan_id = :loanId AND is_paid = FALSE AND due_date <= :maxDueDate ORDER BY due_date")
+            .bind("loanId", loanId)
+            .bind("maxDueDate", maxDueDate.toOffsetDateTime())
+            .map(row -> new UnpaidInstallment(
+                row.get("id", Long.class),
+                row.get("amount", BigDecimal.class),
+                zoned(row.get("due_date", OffsetDateTime.class))))
+            .all()
+            .collectList();
+    }
+
+    private Mono<Void> markPaid(List<PaidInstallment> installments, ZonedDateTime paymentDate) {
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(
+                "UPDATE loan_installment SET paid_amount = $1, payment_date = $2, is_paid = TRUE WHERE id = $3");
+            for (int i = 0; i < installments.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                statement.bind(0, installments.get(i).paidAmount())
+                    .bind(1, paymentDate.toOffsetDateTime())
+                    .bind(2, installments.get(i).id());
+            }
+            return Flux.from(statement.execute()).flatMap(result -> Mono.from(result.getRowsUpdated()));
+        }).then();
+    }
+
+    private static LoanView loanView(Readable row) {
+        return LoanView.builder()
+            .id(row.get("id", Long.class))
+            .customerId(row.get("customer_id", Long.class))
+            .loanAmount(row.get("loan_amount", BigDecimal.class))
+            .interest(row.get("interest", BigDecimal.class))
+            .numberOfInstallment(row.get("number_of_installment", Integer.class))
+            .createdAt(zoned(row.get("created_at", OffsetDateTime.class)))
+            .isPaid(Boolean.TRUE.equals(row.get("is_paid", Boolean.class)))
+            .build();
+    }
+
+    /**
+     * Due days are counted in the server time zone, as {@code CustomerExposureStore} counts them.
+     */
+    private static LocalDate dueDay(ZonedDateTime dueDate) {
+        return dueDate.withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static ZonedDateTime zoned(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.toZonedDateTime() : null;
+    }
+
+    private static BigDecimal totalLoanAmount(BigDecimal amount, BigDecimal interest) {
+        return amount.multiply(BigDecimal.ONE.add(interest));
+    }
+
+    private record LockedLoan(Long customerId, BigDecimal loanAmount, BigDecimal interest, int numberOfInstallment,
+                              int paidInstallmentCount, ScheduleStorage scheduleStorage) {
+    }
+
+    private record UnpaidInstallment(Long id, BigDecimal amount, ZonedDateTime dueDate) {
+    }
+
+    private record PaidInstallment(Long id, BigDecimal paidAmount) {
+    }
+}
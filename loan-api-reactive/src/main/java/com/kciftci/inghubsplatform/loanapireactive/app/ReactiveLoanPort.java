@@ -0,0 +1,27 @@
+package com.kciftci.inghubsplatform.loanapireactive.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Non-blocking counterpart of {@code LoanPort} with the same business rules.
+ */
+public interface ReactiveLoanPort {
+
+    Mono<LoanView> createLoan(Long customerId, BigDecimal amount, BigDecimal interest, int numberOfInstallments);
+
+    Mono<LoanSlice> listLoans(LoanFilter filter, LoanCursor after, int size);
+
+    Flux<LoanInstallmentView> listLoanInstallments(Long loanId);
+
+    Mono<PayLoan> payLoan(Long loanId, BigDecimal amount, ZonedDateTime paymentDate);
+}
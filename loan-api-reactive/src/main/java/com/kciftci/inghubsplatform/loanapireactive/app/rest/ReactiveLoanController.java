@@ -0,0 +1,112 @@
+package com.kciftci.inghubsplatform.loanapireactive.app.rest;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanInstallmentResponse;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanRequest;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanResponse;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.PayLoanRequest;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.PayLoanResponse;
+import com.kciftci.inghubsplatform.loanapi.app.rest.validator.RequestValidator;
+import com.kciftci.inghubsplatform.loanapireactive.app.ReactiveLoanPort;
+import com.kciftci.inghubsplatform.loanapireactive.app.security.ReactiveLoanSecurityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * The Create Loan, List Loans, List Installments and Pay Loan endpoints of {@code LoanController}
+ * with the same paths, validation and responses, served without blocking a thread.
+ */
+@RestController
+@RequestMapping("/loan")
+@RequiredArgsConstructor
+public class ReactiveLoanController {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ReactiveLoanPort loanPort;
+    private final RequestValidator requestValidator;
+    private final ReactiveLoanSecurityService loanSecurityService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<LoanResponse> createLoan(@RequestBody LoanRequest loanRequest) {
+        requestValidator.validateInterestRate(loanRequest.getInterest());
+        requestValidator.validateInstallments(loanRequest.getNumberOfInstallments());
+
+        return loanPort.createLoan(loanRequest.getCustomerId(), loanRequest.getAmount(),
+                loanRequest.getInterest(), loanRequest.getNumberOfInstallments())
+            .map(LoanResponse::of);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<LoanResponse>>> listLoans(@RequestParam(required = false) Long customerId,
+                                                              @RequestParam(required = false) Integer numberOfInstallments,
+                                                              @RequestParam(required = false) Boolean isPaid,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                                              @RequestParam(required = false) BigDecimal minAmount,
+                                                              @RequestParam(required = false) BigDecimal maxAmount,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int size) {
+        requestValidator.validatePageSize(size);
+        requestValidator.validateRange("createdFrom", createdFrom, "createdTo", createdTo);
+        requestValidator.validateRange("minAmount", minAmount, "maxAmount", maxAmount);
+        LoanCursor after = cursor != null ? LoanCursor.decode(cursor) : null;
+
+        Mono<Long> accessibleCustomerId = customerId == null
+            ? loanSecurityService.getCurrentCustomerId()
+            : loanSecurityService.validateCustomerAccess(customerId).thenReturn(customerId);
+
+        return accessibleCustomerId
+            .flatMap(id -> loanPort.listLoans(LoanFilter.builder()
+                .customerId(id)
+                .numberOfInstallments(numberOfInstallments)
+                .isPaid(isPaid)
+                .createdFrom(createdFrom != null ? createdFrom.atStartOfDay(ZoneId.systemDefault()) : null)
+                .createdBefore(createdTo != null ? createdTo.plusDays(1).atStartOfDay(ZoneId.systemDefault()) : null)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .build(), after, size))
+            .map(slice -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (slice.getNextCursor() != null) {
+                    response.header(NEXT_CURSOR_HEADER, slice.getNextCursor().encode());
+                }
+                return response.body(LoanResponse.listOf(slice.getLoans()));
+            });
+    }
+
+    @GetMapping("/installments/{loanId}")
+    public Flux<LoanInstallmentResponse> listInstallments(@PathVariable Long loanId) {
+        return loanSecurityService.validateLoanAccess(loanId)
+            .thenMany(loanPort.listLoanInstallments(loanId))
+            .map(LoanInstallmentResponse::of);
+    }
+
+    @PostMapping("/pay/{loanId}")
+    public Mono<PayLoanResponse> payLoan(@PathVariable Long loanId, @RequestBody PayLoanRequest payLoanRequest) {
+        return loanSecurityService.validateLoanAccess(loanId)
+            .then(loanPort.payLoan(loanId, payLoanRequest.getAmount(), payLoanRequest.getPaymentDate()))
+            .map(PayLoanResponse::of);
+    }
+}
@@ -0,0 +1,41 @@
+package com.kciftci.inghubsplatform.loanapireactive.app.security;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.UserRole;
+import com.kciftci.inghubsplatform.loanapi.app.security.LoanUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * Loads users from the {@code users} table into the same {@link LoanUserDetails} the servlet API uses.
+ * Spring Security checks the BCrypt hash on a bounded elastic thread, off the event loop.
+ */
+@Service
+@RequiredArgsConstructor
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return databaseClient.sql("SELECT id, username, password, role, customer_id FROM users WHERE username = :username")
+            .bind("username", username)
+            .map(row -> {
+                UserRole role = UserRole.valueOf(row.get("role", String.class));
+                return (UserDetails) new LoanUserDetails(
+                    row.get("id", Long.class),
+                    row.get("username", String.class),
+                    row.get("password", String.class),
+                    role,
+                    row.get("customer_id", Long.class),
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+            })
+            .one();
+    }
+}
@@ -0,0 +1,63 @@
+package com.kciftci.inghubsplatform.loanapireactive.app.security;
+
+import com.kciftci.inghubsplatform.loanapi.app.exception.UnauthorizedAccessException;
+import com.kciftci.inghubsplatform.loanapi.app.model.UserRole;
+import com.kciftci.inghubsplatform.loanapi.app.security.LoanUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * The access rules of {@code LoanSecurityService}: admins see everything, customers only their own
+ * loans. Loan ownership is read from the {@code loan} table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveLoanSecurityService {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Void> validateCustomerAccess(Long customerId) {
+        return currentUser().flatMap(user -> validateCustomerAccess(user, customerId));
+    }
+
+    public Mono<Void> validateLoanAccess(Long loanId) {
+        return currentUser().flatMap(user -> databaseClient.sql("SELECT customer_id FROM loan WHERE id = :loanId")
+            .bind("loanId", loanId)
+            .map(row -> row.get("customer_id", Long.class))
+            .one()
+            .switchIfEmpty(Mono.error(() -> new UnauthorizedAccessException("Loan not found")))
+            .flatMap(customerId -> validateCustomerAccess(user, customerId)));
+    }
+
+    public Mono<Long> getCurrentCustomerId() {
+        return currentUser().flatMap(user -> {
+            if (user.getRole() == UserRole.CUSTOMER) {
+                if (user.getCustomerId() == null) {
+                    return Mono.error(new UnauthorizedAccessException("Customer user has no associated customer record"));
+                }
+                return Mono.just(user.getCustomerId());
+            }
+            return Mono.error(new UnauthorizedAccessException("Only customer users can get their customer ID"));
+        });
+    }
+
+    private Mono<Void> validateCustomerAccess(LoanUserDetails user, Long customerId) {
+        if (user.getRole() == UserRole.CUSTOMER
+            && (user.getCustomerId() == null || !user.getCustomerId().equals(customerId))) {
+            return Mono.error(new UnauthorizedAccessException("Customer can only access their own data"));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<LoanUserDetails> currentUser() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(authentication -> authentication.getPrincipal() instanceof LoanUserDetails)
+            .map(authentication -> (LoanUserDetails) authentication.getPrincipal())
+            .switchIfEmpty(Mono.error(() -> new UnauthorizedAccessException("User is not authenticated")));
+    }
+}
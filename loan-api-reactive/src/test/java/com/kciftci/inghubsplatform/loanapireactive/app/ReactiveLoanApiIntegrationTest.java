@@ -0,0 +1,226 @@
+package com.kciftci.inghubsplatform.loanapireactive.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kciftci.inghubsplatform.loanapireactive.LoanApiReactiveApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    LoanApiReactiveApplication.CONFIG_NAME,
+    "spring.r2dbc.url=r2dbc:h2:mem:///loan-reactive-test?options=DB_CLOSE_DELAY=-1",
+    "spring.flyway.url=jdbc:h2:mem:loan-reactive-test;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureWebTestClient
+class ReactiveLoanApiIntegrationTest {
+
+    private static final long CUSTOMER_ID = 2L;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DELETE FROM loan_installment WHERE loan_id IN (SELECT id FROM loan WHERE customer_id = :customerId)")
+            .bind("customerId", CUSTOMER_ID).fetch().rowsUpdated().block();
+        databaseClient.sql("DELETE FROM loan WHERE customer_id = :customerId")
+            .bind("customerId", CUSTOMER_ID).fetch().rowsUpdated().block();
+        databaseClient.sql("UPDATE customer SET used_credit_limit = 0 WHERE id = :customerId")
+            .bind("customerId", CUSTOMER_ID).fetch().rowsUpdated().block();
+        databaseClient.sql("DELETE FROM customer_exposure_due WHERE customer_id = :customerId")
+            .bind("customerId", CUSTOMER_ID).fetch().rowsUpdated().block();
+        databaseClient.sql("DELETE FROM customer_exposure WHERE customer_id = :customerId")
+            .bind("customerId", CUSTOMER_ID).fetch().rowsUpdated().block();
+    }
+
+    @Test
+    void createLoan_ShouldStoreLoanWithSchedule() {
+        long loanId = createLoan(12);
+
+        as("merve", "customer123").get().uri("/loan")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].id").isEqualTo(loanId);
+
+        List<JsonNode> installments = installments(loanId);
+        assertThat(installments).hasSize(12);
+        assertThat(installments).allSatisfy(installment -> {
+            assertThat(installment.get("amount").decimalValue()).isEqualByComparingTo("100.00");
+            assertThat(installment.get("paid").asBoolean()).isFalse();
+        });
+        assertThat(usedCreditLimit()).isEqualByComparingTo("1200");
+    }
+
+    @Test
+    void createLoan_WithInvalidInstallments_ShouldReturnBadRequest() {
+        as("admin", "admin123").post().uri("/loan")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loanJson(CUSTOMER_ID, "1000", 7))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath("$.message").isEqualTo("Number of installments must be 6, 9, 12 or 24");
+    }
+
+    @Test
+    void createLoan_OverCreditLimit_ShouldReturnBadRequestAndReserveNothing() {
+        as("admin", "admin123").post().uri("/loan")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loanJson(CUSTOMER_ID, "100000", 12))
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath("$.message").isEqualTo("Customer does not have enough credit limit");
+
+        assertThat(usedCreditLimit()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void createLoan_ForUnknownCustomer_ShouldReturnNotFound() {
+        as("admin", "admin123").post().uri("/loan")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loanJson(999L, "1000", 12))
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void createLoan_AsCustomer_ShouldBeForbidden() {
+        as("merve", "customer123").post().uri("/loan")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loanJson(CUSTOMER_ID, "1000", 12))
+            .exchange()
+            .expectStatus().isForbidden();
+    }
+
+    @Test
+    void payLoan_ShouldPayWholeInstallmentsInDueDateOrder() {
+        long loanId = createLoan(12);
+
+        JsonNode payment = as("merve", "customer123").post().uri("/loan/pay/{loanId}", loanId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"amount\": 250, \"paymentDate\": \"" + Instant.now() + "\"}")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(JsonNode.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(payment.get("installmentsPaid").asInt()).isEqualTo(2);
+        assertThat(payment.get("loanFullyPaid").asBoolean()).isFalse();
+        // paid before the due dates, so both installments get the early payment discount
+        assertThat(payment.get("totalAmountSpent").decimalValue()).isLessThan(new BigDecimal("200"));
+
+        List<Boolean> paid = new ArrayList<>();
+        installments(loanId).forEach(installment -> paid.add(installment.get("paid").asBoolean()));
+        assertThat(paid).startsWith(true, true, false).filteredOn(Boolean::booleanValue).hasSize(2);
+    }
+
+    @Test
+    void payLoan_ShouldKeepCustomerExposureInStep() {
+        long loanId = createLoan(12);
+        BigDecimal scheduled = installments(loanId).stream()
+            .map(installment -> installment.get("amount").decimalValue())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(exposureAmount("outstanding_amount")).isEqualByComparingTo(scheduled);
+        assertThat(unpaidInstallments()).isEqualTo(12);
+
+        as("merve", "customer123").post().uri("/loan/pay/{loanId}", loanId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"amount\": 250, \"paymentDate\": \"" + Instant.now() + "\"}")
+            .exchange()
+            .expectStatus().isOk();
+
+        BigDecimal paidScheduled = BigDecimal.ZERO;
+        BigDecimal paidAmount = BigDecimal.ZERO;
+        for (JsonNode installment : installments(loanId)) {
+            if (installment.get("paid").asBoolean()) {
+                paidScheduled = paidScheduled.add(installment.get("amount").decimalValue());
+                paidAmount = paidAmount.add(installment.get("paidAmount").decimalValue());
+            }
+        }
+        assertThat(exposureAmount("outstanding_amount")).isEqualByComparingTo(scheduled.subtract(paidScheduled));
+        assertThat(exposureAmount("paid_amount")).isEqualByComparingTo(paidAmount);
+        assertThat(unpaidInstallments()).isEqualTo(10);
+    }
+
+    @Test
+    void listInstallments_OfAnotherCustomersLoan_ShouldBeForbidden() {
+        long loanId = createLoan(6);
+
+        as("kubilay", "customer123").get().uri("/loan/installments/{loanId}", loanId)
+            .exchange()
+            .expectStatus().isForbidden();
+    }
+
+    private long createLoan(int numberOfInstallments) {
+        JsonNode loan = as("admin", "admin123").post().uri("/loan")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loanJson(CUSTOMER_ID, "1000", numberOfInstallments))
+            .exchange()
+            .expectStatus().isAccepted()
+            .expectBody(JsonNode.class)
+            .returnResult()
+            .getResponseBody();
+        return loan.get("id").asLong();
+    }
+
+    private List<JsonNode> installments(long loanId) {
+        return as("merve", "customer123").get().uri("/loan/installments/{loanId}", loanId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(JsonNode.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    private WebTestClient as(String username, String password) {
+        return webTestClient.mutate()
+            .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+            .build();
+    }
+
+    private BigDecimal exposureAmount(String column) {
+        return databaseClient.sql("SELECT " + column + " FROM customer_exposure WHERE customer_id = :customerId")
+            .bind("customerId", CUSTOMER_ID)
+            .map(row -> row.get(0, BigDecimal.class))
+            .one()
+            .block();
+    }
+
+    private long unpaidInstallments() {
+        return databaseClient.sql("SELECT COALESCE(SUM(unpaid_installments), 0) FROM customer_exposure_due WHERE customer_id = :customerId")
+            .bind("customerId", CUSTOMER_ID)
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .block();
+    }
+
+    private BigDecimal usedCreditLimit() {
+        return databaseClient.sql("SELECT used_credit_limit FROM customer WHERE id = :customerId")
+            .bind("customerId", CUSTOMER_ID)
+            .map(row -> row.get(0, BigDecimal.class))
+            .one()
+            .block();
+    }
+
+    private static String loanJson(long customerId, String amount, int numberOfInstallments) {
+        return "{\"customerId\": " + customerId + ", \"amount\": " + amount + ", \"interest\": 0.2, "
+            + "\"numberOfInstallments\": " + numberOfInstallments + "}";
+    }
+}
@@ -2,106 +2,173 @@ package com.kciftci.inghubsplatform.loanapi.app;
 
 import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
-import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanCreatedEvent;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanPaidEvent;
 import com.kciftci.inghubsplatform.loanapi.app.exception.CustomerNotFoundException;
+import com.kciftci.inghubsplatform.loanapi.app.exposure.CustomerExposureStore;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
 import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
 import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerRepository;
 import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentRepository;
 import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.Installment;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentMath;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentStore;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentStores;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LoanAdapter implements LoanPort {
 
+    private static final int BATCH_WRITE_CHUNK_SIZE = 200;
+
     private final LoanRepository loanRepository;
     private final CustomerRepository customerRepository;
     private final LoanInstallmentRepository loanInstallmentRepository;
+    private final InstallmentStores installmentStores;
+    private final CustomerExposureStore customerExposures;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
     public Loan createLoan(Long customerId, BigDecimal amount, BigDecimal interest, int numberOfInstallments) {
 
-        Customer customer = customerRepository.findById(customerId)
-            .orElseThrow(() -> new CustomerNotFoundException("Customer not found with this customerId: " + customerId));
-
-        BigDecimal totalLoanAmount = amount.multiply(BigDecimal.ONE.add(interest));
-        BigDecimal availableCredit = customer.getCreditLimit().subtract(customer.getUsedCreditLimit());
+        BigDecimal totalLoanAmount = totalLoanAmount(amount, interest);
 
-        if (availableCredit.compareTo(totalLoanAmount) < 0) {
+        // the row lock serializes reservations of one customer only
+        Customer customer = customerRepository.findByIdForUpdate(customerId)
+            .orElseThrow(() -> new CustomerNotFoundException("Customer not found with this customerId: " + customerId));
+        if (customer.getCreditLimit().subtract(customer.getUsedCreditLimit()).compareTo(totalLoanAmount) < 0) {
             throw new IllegalArgumentException("Customer does not have enough credit limit");
         }
-
-        Loan loan = Loan.builder()
-            .customer(customer)
-            .loanAmount(amount)
-            .interest(interest)
-            .numberOfInstallment(numberOfInstallments)
-            .createdAt(ZonedDateTime.now())
-            .isPaid(false)
-            .build();
-
-        loan = loanRepository.save(loan);
-
-        BigDecimal installmentAmount = totalLoanAmount.divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
-        List<LoanInstallment> installments = new ArrayList<>();
+        customer.setUsedCreditLimit(customer.getUsedCreditLimit().add(totalLoanAmount));
 
         ZonedDateTime now = ZonedDateTime.now();
-        ZonedDateTime firstDueDate = now.plusMonths(1).with(TemporalAdjusters.firstDayOfMonth());
 
-        for (int i = 0; i < numberOfInstallments; i++) {
-            ZonedDateTime dueDate = firstDueDate.plusMonths(i);
+        InstallmentStore installmentStore = installmentStores.defaultStore();
+        Loan loan = loanRepository.save(newLoan(customer, amount, interest, numberOfInstallments, installmentStore, now));
+        installmentStore.createSchedules(List.of(loan));
+        customerExposures.loansCreated(List.of(loan));
 
-            LoanInstallment installment = LoanInstallment.builder()
-                .loan(loan)
-                .amount(installmentAmount)
-                .paidAmount(BigDecimal.ZERO)
-                .dueDate(dueDate)
-                .paymentDate(null)
-                .isPaid(false)
-                .build();
+        eventPublisher.publishEvent(new LoanCreatedEvent(loan.getId(), customerId));
+        return loan;
+    }
 
-            installments.add(installment);
+    @Override
+    @Transactional
+    public List<LoanCreationResult> createLoans(List<LoanApplication> applications) {
+        Set<Long> customerIds = applications.stream()
+            .map(LoanApplication::getCustomerId)
+            .collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerRepository.findAllByIdForUpdate(customerIds).stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        InstallmentStore installmentStore = installmentStores.defaultStore();
+        ZonedDateTime now = ZonedDateTime.now();
+        List<LoanCreationResult> results = new ArrayList<>(applications.size());
+        List<Loan> loans = new ArrayList<>();
+
+        for (LoanApplication application : applications) {
+            Customer customer = customers.get(application.getCustomerId());
+            if (customer == null) {
+                results.add(LoanCreationResult.rejected("Customer not found with this customerId: " + application.getCustomerId()));
+                continue;
+            }
+
+            BigDecimal totalLoanAmount = totalLoanAmount(application.getAmount(), application.getInterest());
+            BigDecimal availableCredit = customer.getCreditLimit().subtract(customer.getUsedCreditLimit());
+            if (availableCredit.compareTo(totalLoanAmount) < 0) {
+                results.add(LoanCreationResult.rejected("Customer does not have enough credit limit"));
+                continue;
+            }
+
+            customer.setUsedCreditLimit(customer.getUsedCreditLimit().add(totalLoanAmount));
+            Loan loan = newLoan(customer, application.getAmount(), application.getInterest(),
+                application.getNumberOfInstallments(), installmentStore, now);
+            loans.add(loan);
+            results.add(LoanCreationResult.created(loan));
         }
+        customerExposures.loansCreated(loans);
 
-        loanInstallmentRepository.saveAll(installments);
+        for (int from = 0; from < loans.size(); from += BATCH_WRITE_CHUNK_SIZE) {
+            List<Loan> chunk = loans.subList(from, Math.min(from + BATCH_WRITE_CHUNK_SIZE, loans.size()));
+            loanRepository.saveAll(chunk);
+            installmentStore.createSchedules(chunk);
 
-        customer.setUsedCreditLimit(customer.getUsedCreditLimit().add(totalLoanAmount));
-        customerRepository.save(customer);
+            entityManager.flush();
+            entityManager.clear();
+            chunk.forEach(loan -> eventPublisher.publishEvent(new LoanCreatedEvent(loan.getId(), loan.getCustomer().getId())));
+        }
 
-        return loan;
+        log.info("Created {} of {} loans for {} customers", loans.size(), applications.size(), customerIds.size());
+        return results;
     }
 
     @Override
-    public List<Loan> listLoans(Long customerId, Integer numberOfInstallments, Boolean isPaid) {
-        return loanRepository.findByCustomerIdAndFilters(customerId, numberOfInstallments, isPaid);
+    public LoanSlice listLoans(LoanFilter filter, LoanCursor after, int size) {
+        List<LoanView> loans = loanRepository.findPage(filter, after, size + 1);
+
+        if (loans.size() <= size) {
+            return LoanSlice.builder().loans(loans).build();
+        }
+
+        List<LoanView> page = loans.subList(0, size);
+        LoanView last = page.get(size - 1);
+        return LoanSlice.builder()
+            .loans(page)
+            .nextCursor(new LoanCursor(last.getCreatedAt(), last.getId()))
+            .build();
     }
 
     @Override
-    public List<LoanInstallment> listLoanInstallments(Long loanId) {
-        return loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId);
+    @Transactional(readOnly = true)
+    public List<LoanInstallmentView> listLoanInstallments(Long loanId) {
+        return loanRepository.findScheduleById(loanId)
+            .map(schedule -> installmentStores.of(schedule.getScheduleStorage()).findInstallments(schedule))
+            .orElse(List.of());
     }
 
     @Override
     @Transactional
     public PayLoan payLoan(Long loanId, BigDecimal amount, ZonedDateTime paymentDate) {
-        Loan loan = loanRepository.findById(loanId)
+        Loan loan = loanRepository.findByIdForUpdate(loanId)
             .orElseThrow(() -> new IllegalArgumentException("Loan not found with id: " + loanId));
 
         ZonedDateTime maxDueDate = paymentDate.plusMonths(3);
-        List<LoanInstallment> unpaidInstallments = loanInstallmentRepository
-            .findUnpaidInstallmentsByLoanIdAndMaxDueDate(loanId, maxDueDate);
+        InstallmentStore installmentStore = installmentStores.of(loan.getScheduleStorage());
+        List<Installment> unpaidInstallments = installmentStore.findUnpaid(loan, maxDueDate);
 
         if (unpaidInstallments.isEmpty()) {
             throw new IllegalArgumentException("No payable installments found");
@@ -114,33 +181,35 @@ public class LoanAdapter implements LoanPort {
         }
 
         int toPay = Math.min(maxPayable, unpaidInstallments.size());
+        List<Installment> paidInstallments = unpaidInstallments.subList(0, toPay);
         BigDecimal totalAmountSpent = BigDecimal.ZERO;
 
-        for (int i = 0; i < toPay; i++) {
-            LoanInstallment installment = unpaidInstallments.get(i);
-            BigDecimal finalAmount = calculateFinalAmount(installment, paymentDate);
+        for (Installment installment : paidInstallments) {
+            BigDecimal finalAmount = InstallmentMath.finalAmount(installment.getAmount(), installment.getDueDate(), paymentDate);
 
             installment.setPaidAmount(finalAmount);
             installment.setPaymentDate(paymentDate);
             installment.setPaid(true);
 
             totalAmountSpent = totalAmountSpent.add(finalAmount);
-            loanInstallmentRepository.save(installment);
         }
+        installmentStore.markPaid(loan, paidInstallments);
 
-        boolean loanFullyPaid = loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId)
-            .stream()
-            .allMatch(LoanInstallment::isPaid);
+        loan.setPaidInstallmentCount(loan.getPaidInstallmentCount() + toPay);
+        boolean loanFullyPaid = loan.getPaidInstallmentCount() >= loan.getNumberOfInstallment();
+        loan.setPaid(loanFullyPaid);
+        loanRepository.save(loan);
+        eventPublisher.publishEvent(new LoanPaidEvent(loanId));
 
         if (loanFullyPaid) {
-            loan.setPaid(true);
-            loanRepository.save(loan);
-
+            // the customer was loaded with the loan before any lock, possibly from the second-level cache,
+            // so it is re-read under the lock rather than released from a stale credit
             Customer customer = loan.getCustomer();
-            BigDecimal totalLoanAmount = loan.getLoanAmount().multiply(BigDecimal.ONE.add(loan.getInterest()));
-            customer.setUsedCreditLimit(customer.getUsedCreditLimit().subtract(totalLoanAmount));
-            customerRepository.save(customer);
+            entityManager.refresh(customer, LockModeType.PESSIMISTIC_WRITE);
+            customer.setUsedCreditLimit(customer.getUsedCreditLimit().subtract(totalLoanAmount(loan.getLoanAmount(), loan.getInterest())));
         }
+        // after the credit release, so the customer is locked before its exposure as in createLoan
+        customerExposures.installmentsPaid(loan, paidInstallments);
 
         return PayLoan.builder()
             .loanId(loanId)
@@ -150,19 +219,65 @@ public class LoanAdapter implements LoanPort {
             .build();
     }
 
-    private BigDecimal calculateFinalAmount(LoanInstallment installment, ZonedDateTime paymentDate) {
-        BigDecimal baseAmount = installment.getAmount();
-
-        if (paymentDate.isBefore(installment.getDueDate())) {
-            long daysBeforeDue = java.time.Duration.between(paymentDate, installment.getDueDate()).toDays();
-            BigDecimal discount = baseAmount.multiply(BigDecimal.valueOf(0.001)).multiply(BigDecimal.valueOf(daysBeforeDue));
-            return baseAmount.subtract(discount);
-        } else if (paymentDate.isAfter(installment.getDueDate())) {
-            long daysAfterDue = java.time.Duration.between(installment.getDueDate(), paymentDate).toDays();
-            BigDecimal penalty = baseAmount.multiply(BigDecimal.valueOf(0.001)).multiply(BigDecimal.valueOf(daysAfterDue));
-            return baseAmount.add(penalty);
-        } else {
-            return baseAmount;
+    @Override
+    @Transactional(readOnly = true)
+    public void exportLoans(Long customerId, Consumer<List<LoanExportRow>> loanConsumer) {
+        try (Stream<LoanExportRow> rows = loanInstallmentRepository.streamExportRowsByCustomerId(customerId)) {
+            List<LoanExportRow> loanRows = new ArrayList<>();
+            Iterator<LoanExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                LoanExportRow row = iterator.next();
+                if (!loanRows.isEmpty() && !loanRows.get(0).getLoanId().equals(row.getLoanId())) {
+                    loanConsumer.accept(exportRows(loanRows));
+                    loanRows = new ArrayList<>();
+                }
+                loanRows.add(row);
+            }
+            if (!loanRows.isEmpty()) {
+                loanConsumer.accept(exportRows(loanRows));
+            }
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerExposureSummary getCustomerExposure(Long customerId) {
+        return customerExposures.find(customerId, LocalDate.now())
+            .orElseGet(() -> {
+                if (!customerRepository.existsById(customerId)) {
+                    throw new CustomerNotFoundException("Customer not found with this customerId: " + customerId);
+                }
+                return CustomerExposureSummary.builder()
+                    .customerId(customerId)
+                    .outstandingAmount(BigDecimal.ZERO)
+                    .paidAmount(BigDecimal.ZERO)
+                    .build();
+            });
+    }
+
+    private BigDecimal totalLoanAmount(BigDecimal amount, BigDecimal interest) {
+        return amount.multiply(BigDecimal.ONE.add(interest));
+    }
+
+    private Loan newLoan(Customer customer, BigDecimal amount, BigDecimal interest, int numberOfInstallments,
+                         InstallmentStore installmentStore, ZonedDateTime now) {
+        BigDecimal installmentAmount = totalLoanAmount(amount, interest)
+            .divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
+
+        return Loan.builder()
+            .customer(customer)
+            .loanAmount(amount)
+            .interest(interest)
+            .numberOfInstallment(numberOfInstallments)
+            .createdAt(now)
+            .isPaid(false)
+            .scheduleStorage(installmentStore.storage())
+            .installmentAmount(installmentAmount)
+            .firstDueDate(now.plusMonths(1).with(TemporalAdjusters.firstDayOfMonth()))
+            .build();
+    }
+
+    private List<LoanExportRow> exportRows(List<LoanExportRow> loanRows) {
+        return installmentStores.of(loanRows.get(0).getScheduleStorage()).exportRows(loanRows);
+    }
 }
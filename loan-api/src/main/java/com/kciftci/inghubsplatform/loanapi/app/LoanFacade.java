@@ -1,7 +1,14 @@
 package com.kciftci.inghubsplatform.loanapi.app;
 
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
-import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
 import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -9,6 +16,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -20,15 +28,27 @@ public class LoanFacade {
         return loanPort.createLoan(customerId, amount, interest, numberOfInstallments);
     }
 
-    public List<Loan> listLoans(Long customerId, Integer numberOfInstallments, Boolean isPaid) {
-        return loanPort.listLoans(customerId, numberOfInstallments, isPaid);
+    public List<LoanCreationResult> createLoans(List<LoanApplication> applications) {
+        return loanPort.createLoans(applications);
     }
 
-    public List<LoanInstallment> listLoanInstallments(Long loanId) {
+    public LoanSlice listLoans(LoanFilter filter, LoanCursor after, int size) {
+        return loanPort.listLoans(filter, after, size);
+    }
+
+    public List<LoanInstallmentView> listLoanInstallments(Long loanId) {
         return loanPort.listLoanInstallments(loanId);
     }
 
     public PayLoan payLoan(Long loanId, BigDecimal amount, ZonedDateTime paymentDate) {
         return loanPort.payLoan(loanId, amount, paymentDate);
     }
+
+    public void exportLoans(Long customerId, Consumer<List<LoanExportRow>> loanConsumer) {
+        loanPort.exportLoans(customerId, loanConsumer);
+    }
+
+    public CustomerExposureSummary getCustomerExposure(Long customerId) {
+        return loanPort.getCustomerExposure(customerId);
+    }
 }
@@ -1,20 +1,34 @@
 package com.kciftci.inghubsplatform.loanapi.app;
 
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
-import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
 import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface LoanPort {
 
     Loan createLoan(Long customerId, BigDecimal amount, BigDecimal interest, int numberOfInstallments);
 
-    List<Loan> listLoans(Long customerId, Integer numberOfInstallments, Boolean isPaid);
+    List<LoanCreationResult> createLoans(List<LoanApplication> applications);
 
-    List<LoanInstallment> listLoanInstallments(Long loanId);
+    LoanSlice listLoans(LoanFilter filter, LoanCursor after, int size);
+
+    List<LoanInstallmentView> listLoanInstallments(Long loanId);
 
     PayLoan payLoan(Long loanId, BigDecimal amount, ZonedDateTime paymentDate);
+
+    void exportLoans(Long customerId, Consumer<List<LoanExportRow>> loanConsumer);
+
+    CustomerExposureSummary getCustomerExposure(Long customerId);
 }
@@ -0,0 +1,140 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.exception.CustomerNotFoundException;
+import com.kciftci.inghubsplatform.loanapi.app.exception.UnauthorizedAccessException;
+import com.kciftci.inghubsplatform.loanapi.app.exception.ValidationException;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Times every {@link LoanPort} operation as {@code loan.operations}, tagged with the operation, its
+ * outcome, the exception thrown and, where it applies, the installment count. Repository calls are
+ * timed by Spring Boot as {@code spring.data.repository.invocations}.
+ */
+@Primary
+@Component
+@RequiredArgsConstructor
+public class MeteredLoanPort implements LoanPort {
+
+    private static final String NONE = "none";
+
+    private final LoanAdapter loanAdapter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Loan createLoan(Long customerId, BigDecimal amount, BigDecimal interest, int numberOfInstallments) {
+        Loan loan = timed("createLoan", created -> String.valueOf(numberOfInstallments),
+            () -> loanAdapter.createLoan(customerId, amount, interest, numberOfInstallments));
+        loansCreated(numberOfInstallments).increment();
+        return loan;
+    }
+
+    @Override
+    public List<LoanCreationResult> createLoans(List<LoanApplication> applications) {
+        List<LoanCreationResult> results = timed("createLoans", created -> NONE, () -> loanAdapter.createLoans(applications));
+        for (LoanCreationResult result : results) {
+            if (result.isCreated()) {
+                loansCreated(result.getLoan().getNumberOfInstallment()).increment();
+            } else {
+                meterRegistry.counter("loan.batch.rejected").increment();
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public LoanSlice listLoans(LoanFilter filter, LoanCursor after, int size) {
+        return timed("listLoans", slice -> NONE, () -> loanAdapter.listLoans(filter, after, size));
+    }
+
+    @Override
+    public List<LoanInstallmentView> listLoanInstallments(Long loanId) {
+        return timed("listLoanInstallments", installments -> String.valueOf(installments.size()),
+            () -> loanAdapter.listLoanInstallments(loanId));
+    }
+
+    @Override
+    public PayLoan payLoan(Long loanId, BigDecimal amount, ZonedDateTime paymentDate) {
+        PayLoan result = timed("payLoan", paid -> String.valueOf(paid.getInstallmentsPaid()),
+            () -> loanAdapter.payLoan(loanId, amount, paymentDate));
+        Counter.builder("loan.installments.paid")
+            .description("Installments paid")
+            .register(meterRegistry)
+            .increment(result.getInstallmentsPaid());
+        return result;
+    }
+
+    @Override
+    public void exportLoans(Long customerId, Consumer<List<LoanExportRow>> loanConsumer) {
+        timed("exportLoans", exported -> NONE, () -> {
+            loanAdapter.exportLoans(customerId, loanConsumer);
+            return null;
+        });
+    }
+
+    @Override
+    public CustomerExposureSummary getCustomerExposure(Long customerId) {
+        return timed("getCustomerExposure", exposure -> NONE, () -> loanAdapter.getCustomerExposure(customerId));
+    }
+
+    private <T> T timed(String operation, Function<T, String> installments, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = call.get();
+            sample.stop(timer(operation, "success", NONE, installments.apply(result)));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(timer(operation, outcomeOf(e), e.getClass().getSimpleName(), NONE));
+            throw e;
+        }
+    }
+
+    private Timer timer(String operation, String outcome, String exception, String installments) {
+        return Timer.builder("loan.operations")
+            .description("LoanPort operations")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .tag("installments", installments)
+            .register(meterRegistry);
+    }
+
+    private Counter loansCreated(int numberOfInstallments) {
+        return Counter.builder("loan.created")
+            .description("Loans created")
+            .tag("installments", String.valueOf(numberOfInstallments))
+            .register(meterRegistry);
+    }
+
+    /**
+     * Business rule violations are rejections, anything else is an error.
+     */
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof IllegalArgumentException || e instanceof CustomerNotFoundException
+            || e instanceof ValidationException || e instanceof UnauthorizedAccessException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
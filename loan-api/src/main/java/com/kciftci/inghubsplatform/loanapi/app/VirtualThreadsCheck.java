@@ -0,0 +1,25 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warns when the {@code virtual} profile is active on a runtime without virtual threads, where Spring
+ * Boot silently keeps serving requests from the platform-thread pool.
+ */
+@Slf4j
+@Component
+@Profile("virtual")
+public class VirtualThreadsCheck {
+
+    static final int MINIMUM_JAVA_VERSION = 21;
+
+    public VirtualThreadsCheck() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MINIMUM_JAVA_VERSION) {
+            log.warn("The virtual profile needs Java {} or later, requests are served on platform threads on Java {}",
+                MINIMUM_JAVA_VERSION, javaVersion);
+        }
+    }
+}
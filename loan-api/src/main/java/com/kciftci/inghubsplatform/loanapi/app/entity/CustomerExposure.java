@@ -0,0 +1,53 @@
+package com.kciftci.inghubsplatform.loanapi.app.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+/**
+ * Running totals of a customer's loans: the amount of its unpaid installments and what has been paid
+ * for the paid ones, discounts and penalties included.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "customer_exposure")
+public class CustomerExposure implements Persistable<Long> {
+
+    @Id
+    private Long customerId;
+
+    private BigDecimal outstandingAmount;
+    private BigDecimal paidAmount;
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public Long getId() {
+        return customerId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kciftci.inghubsplatform.loanapi.app.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerExposureDueId implements Serializable {
+
+    private Long customerId;
+    private LocalDate dueDay;
+}
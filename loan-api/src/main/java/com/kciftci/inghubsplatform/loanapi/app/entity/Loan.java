@@ -1,12 +1,16 @@
 package com.kciftci.inghubsplatform.loanapi.app.entity;
 
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,7 +30,8 @@ import java.util.List;
 public class Loan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -38,6 +43,14 @@ public class Loan {
     private Integer numberOfInstallment;
     private ZonedDateTime createdAt;
     private boolean isPaid;
+    private int paidInstallmentCount;
+
+    @Enumerated(EnumType.STRING)
+    private ScheduleStorage scheduleStorage;
+
+    private BigDecimal installmentAmount;
+    private ZonedDateTime firstDueDate;
+    private long paidInstallmentMask;
 
     @OneToMany(mappedBy = "loan")
     private List<LoanInstallment> installments;
@@ -0,0 +1,48 @@
+package com.kciftci.inghubsplatform.loanapi.app.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Payment of one installment of a loan whose schedule is stored compactly on the loan itself.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "loan_installment_payment")
+public class LoanInstallmentPayment implements Persistable<LoanInstallmentPaymentId> {
+
+    @EmbeddedId
+    private LoanInstallmentPaymentId id;
+
+    private BigDecimal paidAmount;
+    private ZonedDateTime paymentDate;
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
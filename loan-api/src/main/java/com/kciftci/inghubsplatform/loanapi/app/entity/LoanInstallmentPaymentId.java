@@ -0,0 +1,18 @@
+package com.kciftci.inghubsplatform.loanapi.app.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanInstallmentPaymentId implements Serializable {
+
+    private Long loanId;
+    private Integer installmentNumber;
+}
@@ -0,0 +1,4 @@
+package com.kciftci.inghubsplatform.loanapi.app.event;
+
+public record LoanCreatedEvent(long loanId, long customerId) {
+}
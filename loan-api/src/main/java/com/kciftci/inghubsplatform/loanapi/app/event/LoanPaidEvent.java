@@ -0,0 +1,4 @@
+package com.kciftci.inghubsplatform.loanapi.app.event;
+
+public record LoanPaidEvent(long loanId) {
+}
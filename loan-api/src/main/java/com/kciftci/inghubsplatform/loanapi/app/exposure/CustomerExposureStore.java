@@ -0,0 +1,163 @@
+package com.kciftci.inghubsplatform.loanapi.app.exposure;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposure;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposureDue;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposureDueId;
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerExposureDueRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerExposureRepository;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.Installment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps each customer's exposure in step with its loans, in the transaction that creates or pays them,
+ * so reading it touches neither loans nor installments. Unpaid installments are counted per due day
+ * in the server time zone, the zone schedules are generated in, which gives the next due date and the
+ * overdue count without visiting single installments.
+ * <p>
+ * The exposure row is locked before anything of the customer changes, and due-day rows only change
+ * under that lock. Loans older than the tables are counted by the V4 migration, and the reactive API
+ * writes the same tables. Loans inserted any other way, such as with plain SQL, are not counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerExposureStore {
+
+    private final CustomerExposureRepository exposureRepository;
+    private final CustomerExposureDueRepository dueRepository;
+
+    /**
+     * Adds new loans to the exposure of their customers. Callers hold the credit lock of every customer
+     * involved, so two first loans of a customer cannot both insert its exposure row.
+     */
+    public void loansCreated(List<Loan> loans) {
+        if (loans.isEmpty()) {
+            return;
+        }
+        Set<Long> customerIds = new HashSet<>();
+        Set<LocalDate> dueDays = new HashSet<>();
+        for (Loan loan : loans) {
+            customerIds.add(loan.getCustomer().getId());
+            for (int i = 0; i < loan.getNumberOfInstallment(); i++) {
+                dueDays.add(dueDay(loan.getFirstDueDate().plusMonths(i)));
+            }
+        }
+
+        Map<Long, CustomerExposure> exposures = exposureRepository.findAllByIdForUpdate(customerIds).stream()
+            .collect(Collectors.toMap(CustomerExposure::getCustomerId, Function.identity()));
+        Map<CustomerExposureDueId, CustomerExposureDue> dues = dueRepository.findAllByCustomerIdsAndDueDays(customerIds, dueDays).stream()
+            .collect(Collectors.toMap(CustomerExposureDue::getId, Function.identity()));
+        List<CustomerExposure> newExposures = new ArrayList<>();
+        List<CustomerExposureDue> newDues = new ArrayList<>();
+
+        for (Loan loan : loans) {
+            Long customerId = loan.getCustomer().getId();
+            CustomerExposure exposure = exposures.computeIfAbsent(customerId, id -> {
+                CustomerExposure created = CustomerExposure.builder()
+                    .customerId(id)
+                    .outstandingAmount(BigDecimal.ZERO)
+                    .paidAmount(BigDecimal.ZERO)
+                    .build();
+                newExposures.add(created);
+                return created;
+            });
+            BigDecimal scheduled = loan.getInstallmentAmount().multiply(BigDecimal.valueOf(loan.getNumberOfInstallment()));
+            exposure.setOutstandingAmount(exposure.getOutstandingAmount().add(scheduled));
+
+            for (int i = 0; i < loan.getNumberOfInstallment(); i++) {
+                CustomerExposureDueId dueId = new CustomerExposureDueId(customerId, dueDay(loan.getFirstDueDate().plusMonths(i)));
+                CustomerExposureDue due = dues.computeIfAbsent(dueId, id -> {
+                    CustomerExposureDue created = CustomerExposureDue.builder().id(id).build();
+                    newDues.add(created);
+                    return created;
+                });
+                due.setUnpaidInstallments(due.getUnpaidInstallments() + 1);
+            }
+        }
+
+        exposureRepository.saveAll(newExposures);
+        dueRepository.saveAll(newDues);
+    }
+
+    /**
+     * Moves paid installments of a loan from the outstanding to the paid amount of its customer. Paid
+     * amounts are rounded to the installment scale, as their {@code loan_installment} columns store them.
+     */
+    public void installmentsPaid(Loan loan, List<Installment> installments) {
+        Long customerId = loan.getCustomer().getId();
+        Optional<CustomerExposure> found = exposureRepository.findAllByIdForUpdate(List.of(customerId)).stream().findFirst();
+        if (found.isEmpty()) {
+            log.warn("No exposure for customer {}, loan {} was not written through a loan API", customerId, loan.getId());
+            return;
+        }
+
+        CustomerExposure exposure = found.get();
+        Set<LocalDate> dueDays = new HashSet<>();
+        for (Installment installment : installments) {
+            BigDecimal amount = installment.getAmount();
+            exposure.setOutstandingAmount(exposure.getOutstandingAmount().subtract(amount));
+            exposure.setPaidAmount(exposure.getPaidAmount().add(installment.getPaidAmount().setScale(amount.scale(), RoundingMode.HALF_UP)));
+            dueDays.add(dueDay(installment.getDueDate()));
+        }
+
+        // installments of one loan fall on different days, so each day loses exactly one
+        for (CustomerExposureDue due : dueRepository.findAllByCustomerIdsAndDueDays(List.of(customerId), dueDays)) {
+            if (due.getUnpaidInstallments() > 1) {
+                due.setUnpaidInstallments(due.getUnpaidInstallments() - 1);
+            } else {
+                dueRepository.delete(due);
+            }
+        }
+    }
+
+    /**
+     * @return the exposure on {@code today}, a date in the server time zone, or empty when no loan of the customer is counted.
+     * An installment is overdue from the day after its due day.
+     */
+    public Optional<CustomerExposureSummary> find(Long customerId, LocalDate today) {
+        return exposureRepository.findById(customerId).map(exposure -> {
+            LocalDate nextDueDate = null;
+            int overdueInstallments = 0;
+            for (CustomerExposureDue due : dueRepository.findByIdCustomerId(customerId)) {
+                LocalDate dueDay = due.getId().getDueDay();
+                if (dueDay.isBefore(today)) {
+                    overdueInstallments += due.getUnpaidInstallments();
+                } else if (nextDueDate == null || dueDay.isBefore(nextDueDate)) {
+                    nextDueDate = dueDay;
+                }
+            }
+            return CustomerExposureSummary.builder()
+                .customerId(customerId)
+                .outstandingAmount(exposure.getOutstandingAmount())
+                .paidAmount(exposure.getPaidAmount())
+                .nextDueDate(nextDueDate)
+                .overdueInstallments(overdueInstallments)
+                .build();
+        });
+    }
+
+    /**
+     * @return the day an installment is due on, as {@code /loan/installments} shows its due date
+     */
+    private static LocalDate dueDay(ZonedDateTime dueDate) {
+        return dueDate.withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+}
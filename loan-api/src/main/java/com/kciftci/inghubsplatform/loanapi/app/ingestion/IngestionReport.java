@@ -0,0 +1,23 @@
+package com.kciftci.inghubsplatform.loanapi.app.ingestion;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionReport {
+    private String file;
+    private long rowsRead;
+    private long applied;
+    private long rejected;
+    private Duration elapsed;
+    private double rowsPerSecond;
+    private List<PaymentReject> rejects;
+}
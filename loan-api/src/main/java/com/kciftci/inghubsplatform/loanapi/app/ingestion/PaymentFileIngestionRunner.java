@@ -0,0 +1,32 @@
+package com.kciftci.inghubsplatform.loanapi.app.ingestion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Slf4j
+@Component
+@ConditionalOnProperty("loan.ingestion.payment-file")
+public class PaymentFileIngestionRunner implements ApplicationRunner {
+
+    private final PaymentFileIngestor paymentFileIngestor;
+    private final Path paymentFile;
+
+    public PaymentFileIngestionRunner(PaymentFileIngestor paymentFileIngestor,
+                                      @Value("${loan.ingestion.payment-file}") Path paymentFile) {
+        this.paymentFileIngestor = paymentFileIngestor;
+        this.paymentFile = paymentFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        IngestionReport report = paymentFileIngestor.ingest(paymentFile);
+        report.getRejects().forEach(reject ->
+            log.warn("Rejected line {} of {}: {}", reject.lineNumber(), report.getFile(), reject.reason()));
+    }
+}
@@ -0,0 +1,188 @@
+package com.kciftci.inghubsplatform.loanapi.app.ingestion;
+
+import com.kciftci.inghubsplatform.loanapi.app.LoanPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a payment file through {@link LoanPort#payLoan}. Rows are partitioned by loan id onto
+ * single-threaded workers, so payments of one loan are applied in file order while different loans
+ * are applied in parallel. Bounded partition queues keep the reader from running ahead of the workers.
+ * A payment that fails with anything other than a {@link RuntimeException} aborts the whole run: the
+ * reader stops, the workers drain their queues without applying, and {@link #ingest} rethrows it.
+ */
+@Slf4j
+@Component
+public class PaymentFileIngestor {
+
+    private static final PaymentRecord END_OF_FILE = new PaymentRecord(-1L, -1L, null, null);
+    private static final int MAX_REPORTED_REJECTS = 1000;
+
+    private final LoanPort loanPort;
+    private final int workers;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final Duration progressInterval;
+
+    public PaymentFileIngestor(LoanPort loanPort,
+                               @Value("${loan.ingestion.workers:8}") int workers,
+                               @Value("${loan.ingestion.queue-capacity:1024}") int queueCapacity,
+                               @Value("${loan.ingestion.chunk-size:1048576}") int chunkSize,
+                               @Value("${loan.ingestion.progress-interval:PT10S}") Duration progressInterval) {
+        this.loanPort = loanPort;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+        this.progressInterval = progressInterval;
+    }
+
+    public IngestionReport ingest(Path file) throws IOException {
+        long startNanos = System.nanoTime();
+        Progress progress = new Progress();
+
+        List<BlockingQueue<PaymentRecord>> partitions = new ArrayList<>(workers);
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            BlockingQueue<PaymentRecord> partition = new ArrayBlockingQueue<>(queueCapacity);
+            Thread thread = new Thread(() -> apply(partition, progress), "payment-ingestion-" + i);
+            partitions.add(partition);
+            threads.add(thread);
+            thread.start();
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> logProgress(file, progress, startNanos),
+            progressInterval.toMillis(), progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        long rowsRead;
+        try {
+            rowsRead = new PaymentFileReader(chunkSize, ZonedDateTime.now()).read(file,
+                record -> {
+                    progress.checkNotFailed();
+                    put(partitions.get(Math.floorMod(Long.hashCode(record.loanId()), workers)), record);
+                },
+                progress::reject);
+        } finally {
+            partitions.forEach(partition -> put(partition, END_OF_FILE));
+            threads.forEach(PaymentFileIngestor::join);
+            reporter.shutdownNow();
+        }
+        progress.checkNotFailed();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        IngestionReport report = IngestionReport.builder()
+            .file(file.toString())
+            .rowsRead(rowsRead)
+            .applied(progress.applied.sum())
+            .rejected(progress.rejected.sum())
+            .elapsed(elapsed)
+            .rowsPerSecond(rowsPerSecond(rowsRead, elapsed.toNanos()))
+            .rejects(progress.rejects.stream().sorted(Comparator.comparingLong(PaymentReject::lineNumber)).toList())
+            .build();
+        log.info("Ingested {}: {} rows, {} applied, {} rejected in {} ms ({} rows/s)", report.getFile(), report.getRowsRead(),
+            report.getApplied(), report.getRejected(), elapsed.toMillis(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void apply(BlockingQueue<PaymentRecord> partition, Progress progress) {
+        while (true) {
+            PaymentRecord record;
+            try {
+                record = partition.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (record == END_OF_FILE) {
+                return;
+            }
+            // keep draining an aborted run, so the reader never blocks on this partition
+            if (progress.failure.get() != null) {
+                continue;
+            }
+
+            try {
+                loanPort.payLoan(record.loanId(), record.amount(), record.paymentDate());
+                progress.applied.increment();
+            } catch (RuntimeException e) {
+                progress.reject(new PaymentReject(record.lineNumber(), e.getMessage()));
+            } catch (Throwable t) {
+                progress.fail(record, t);
+            }
+        }
+    }
+
+    private void logProgress(Path file, Progress progress, long startNanos) {
+        long processed = progress.applied.sum() + progress.rejected.sum();
+        log.info("Ingesting {}: {} applied, {} rejected ({} rows/s)", file, progress.applied.sum(), progress.rejected.sum(),
+            Math.round(rowsPerSecond(processed, System.nanoTime() - startNanos)));
+    }
+
+    private static double rowsPerSecond(long rows, long nanos) {
+        return nanos > 0 ? rows * 1_000_000_000d / nanos : 0d;
+    }
+
+    private static void put(BlockingQueue<PaymentRecord> partition, PaymentRecord record) {
+        try {
+            partition.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ingesting payments", e);
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ingesting payments", e);
+        }
+    }
+
+    private static final class Progress {
+        private final LongAdder applied = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicInteger reportedRejects = new AtomicInteger();
+        private final ConcurrentLinkedQueue<PaymentReject> rejects = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<IllegalStateException> failure = new AtomicReference<>();
+
+        void reject(PaymentReject reject) {
+            rejected.increment();
+            if (reportedRejects.incrementAndGet() <= MAX_REPORTED_REJECTS) {
+                rejects.add(reject);
+            }
+        }
+
+        void fail(PaymentRecord record, Throwable cause) {
+            log.error("Aborting payment ingestion at line {}", record.lineNumber(), cause);
+            failure.compareAndSet(null,
+                new IllegalStateException("Payment ingestion aborted at line " + record.lineNumber(), cause));
+        }
+
+        void checkNotFailed() {
+            IllegalStateException failed = failure.get();
+            if (failed != null) {
+                throw failed;
+            }
+        }
+    }
+}
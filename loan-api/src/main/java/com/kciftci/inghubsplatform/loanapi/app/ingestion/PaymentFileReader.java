@@ -0,0 +1,116 @@
+package com.kciftci.inghubsplatform.loanapi.app.ingestion;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads a {@code loanId,amount[,paymentDate]} CSV through a fixed-size buffer, so memory use
+ * does not depend on the file size. The payment date is ISO-8601, either a zoned date-time or a
+ * plain date; rows without one are dated {@code defaultPaymentDate}.
+ */
+public class PaymentFileReader {
+
+    private static final String HEADER_PREFIX = "loanId";
+
+    private final int chunkSize;
+    private final ZonedDateTime defaultPaymentDate;
+
+    public PaymentFileReader(int chunkSize, ZonedDateTime defaultPaymentDate) {
+        this.chunkSize = chunkSize;
+        this.defaultPaymentDate = defaultPaymentDate;
+    }
+
+    /**
+     * @return the number of data rows read, including the rejected ones
+     */
+    public long read(Path file, Consumer<PaymentRecord> records, Consumer<PaymentReject> rejects) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+        byte[] chunk = buffer.array();
+        byte[] line = new byte[128];
+        int lineLength = 0;
+        long lineNumber = 0;
+        long rows = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                int limit = buffer.position();
+                for (int i = 0; i < limit; i++) {
+                    byte b = chunk[i];
+                    if (b == '\n') {
+                        rows += accept(decode(line, lineLength), ++lineNumber, records, rejects);
+                        lineLength = 0;
+                    } else {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, line.length * 2);
+                        }
+                        line[lineLength++] = b;
+                    }
+                }
+                buffer.clear();
+            }
+        }
+
+        if (lineLength > 0) {
+            rows += accept(decode(line, lineLength), ++lineNumber, records, rejects);
+        }
+        return rows;
+    }
+
+    private int accept(String line, long lineNumber, Consumer<PaymentRecord> records, Consumer<PaymentReject> rejects) {
+        if (line.isBlank() || (lineNumber == 1 && line.startsWith(HEADER_PREFIX))) {
+            return 0;
+        }
+
+        try {
+            records.accept(parse(line, lineNumber));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            rejects.accept(new PaymentReject(lineNumber, "Malformed row: " + e.getMessage()));
+        }
+        return 1;
+    }
+
+    private PaymentRecord parse(String line, long lineNumber) {
+        int firstComma = line.indexOf(',');
+        if (firstComma < 0) {
+            throw new IllegalArgumentException("expected loanId,amount[,paymentDate]");
+        }
+        int secondComma = line.indexOf(',', firstComma + 1);
+        int amountEnd = secondComma < 0 ? line.length() : secondComma;
+
+        long loanId = Long.parseLong(line.substring(0, firstComma).trim());
+        BigDecimal amount = new BigDecimal(line.substring(firstComma + 1, amountEnd).trim());
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be positive");
+        }
+
+        String date = secondComma < 0 ? "" : line.substring(secondComma + 1).trim();
+        return new PaymentRecord(lineNumber, loanId, amount, parseDate(date));
+    }
+
+    private ZonedDateTime parseDate(String date) {
+        if (date.isEmpty()) {
+            return defaultPaymentDate;
+        }
+        if (date.indexOf('T') < 0) {
+            return LocalDate.parse(date).atStartOfDay(defaultPaymentDate.getZone());
+        }
+        return ZonedDateTime.parse(date);
+    }
+
+    private static String decode(byte[] line, int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+}
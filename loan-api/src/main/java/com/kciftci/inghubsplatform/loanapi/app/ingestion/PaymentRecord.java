@@ -0,0 +1,7 @@
+package com.kciftci.inghubsplatform.loanapi.app.ingestion;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+public record PaymentRecord(long lineNumber, long loanId, BigDecimal amount, ZonedDateTime paymentDate) {
+}
@@ -0,0 +1,4 @@
+package com.kciftci.inghubsplatform.loanapi.app.ingestion;
+
+public record PaymentReject(long lineNumber, String reason) {
+}
@@ -0,0 +1,21 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerExposureSummary {
+    private Long customerId;
+    private BigDecimal outstandingAmount;
+    private BigDecimal paidAmount;
+    private LocalDate nextDueDate;
+    private int overdueInstallments;
+}
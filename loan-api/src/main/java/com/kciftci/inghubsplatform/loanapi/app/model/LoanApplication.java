@@ -0,0 +1,19 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanApplication {
+    private Long customerId;
+    private BigDecimal amount;
+    private BigDecimal interest;
+    private int numberOfInstallments;
+}
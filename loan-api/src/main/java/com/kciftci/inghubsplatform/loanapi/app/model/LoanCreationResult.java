@@ -0,0 +1,28 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanCreationResult {
+    private Loan loan;
+    private String error;
+
+    public static LoanCreationResult created(Loan loan) {
+        return LoanCreationResult.builder().loan(loan).build();
+    }
+
+    public static LoanCreationResult rejected(String error) {
+        return LoanCreationResult.builder().error(error).build();
+    }
+
+    public boolean isCreated() {
+        return loan != null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Data
+@AllArgsConstructor
+public class LoanExportRow {
+    private Long loanId;
+    private Long customerId;
+    private BigDecimal loanAmount;
+    private BigDecimal interest;
+    private Integer numberOfInstallment;
+    private ZonedDateTime createdAt;
+    private boolean loanPaid;
+    private ScheduleStorage scheduleStorage;
+    private BigDecimal scheduledInstallmentAmount;
+    private ZonedDateTime firstDueDate;
+    private Long installmentId;
+    private Integer installmentNumber;
+    private BigDecimal amount;
+    private BigDecimal paidAmount;
+    private ZonedDateTime dueDate;
+    private ZonedDateTime paymentDate;
+    private boolean installmentPaid;
+}
@@ -0,0 +1,23 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanFilter {
+    private Long customerId;
+    private Integer numberOfInstallments;
+    private Boolean isPaid;
+    private ZonedDateTime createdFrom;
+    private ZonedDateTime createdBefore;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,22 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class LoanInstallmentView {
+    private Long id;
+    private Long loanId;
+    private Long customerId;
+    private BigDecimal amount;
+    private BigDecimal paidAmount;
+    private ZonedDateTime dueDate;
+    private ZonedDateTime paymentDate;
+    private boolean isPaid;
+}
@@ -0,0 +1,21 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class LoanSchedule {
+    private Long loanId;
+    private Long customerId;
+    private ScheduleStorage scheduleStorage;
+    private Integer numberOfInstallment;
+    private BigDecimal installmentAmount;
+    private ZonedDateTime firstDueDate;
+    private long paidInstallmentMask;
+}
@@ -0,0 +1,21 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class LoanView {
+    private Long id;
+    private Long customerId;
+    private BigDecimal loanAmount;
+    private BigDecimal interest;
+    private Integer numberOfInstallment;
+    private ZonedDateTime createdAt;
+    private boolean isPaid;
+}
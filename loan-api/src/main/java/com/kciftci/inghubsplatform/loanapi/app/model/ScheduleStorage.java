@@ -0,0 +1,5 @@
+package com.kciftci.inghubsplatform.loanapi.app.model;
+
+public enum ScheduleStorage {
+    ROWS, COMPACT
+}
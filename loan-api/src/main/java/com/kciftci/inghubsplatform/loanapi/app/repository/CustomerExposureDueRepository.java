@@ -0,0 +1,23 @@
+package com.kciftci.inghubsplatform.loanapi.app.repository;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposureDue;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposureDueId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerExposureDueRepository extends JpaRepository<CustomerExposureDue, CustomerExposureDueId> {
+
+    List<CustomerExposureDue> findByIdCustomerId(Long customerId);
+
+    // findAllById loads composite ids one by one
+    @Query("SELECT d FROM CustomerExposureDue d WHERE d.id.customerId IN :customerIds AND d.id.dueDay IN :dueDays")
+    List<CustomerExposureDue> findAllByCustomerIdsAndDueDays(@Param("customerIds") Collection<Long> customerIds,
+                                                            @Param("dueDays") Collection<LocalDate> dueDays);
+}
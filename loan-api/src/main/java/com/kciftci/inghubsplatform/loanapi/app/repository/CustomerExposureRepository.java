@@ -0,0 +1,20 @@
+package com.kciftci.inghubsplatform.loanapi.app.repository;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposure;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerExposureRepository extends JpaRepository<CustomerExposure, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM CustomerExposure e WHERE e.customerId IN :customerIds ORDER BY e.customerId")
+    List<CustomerExposure> findAllByIdForUpdate(@Param("customerIds") Collection<Long> customerIds);
+}
@@ -1,9 +1,30 @@
 package com.kciftci.inghubsplatform.loanapi.app.repository;
 
 import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /**
+     * Credit reservations go through this lock and an update of the managed customer rather than a bulk
+     * UPDATE, which would evict every customer from the second-level cache instead of just this one.
+     * A customer already in the persistence context is returned as it is, not re-read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id = :customerId")
+    Optional<Customer> findByIdForUpdate(@Param("customerId") Long customerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id IN :customerIds ORDER BY c.id")
+    List<Customer> findAllByIdForUpdate(@Param("customerIds") Collection<Long> customerIds);
 }
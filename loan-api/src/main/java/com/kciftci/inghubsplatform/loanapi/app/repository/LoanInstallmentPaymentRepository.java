@@ -0,0 +1,14 @@
+package com.kciftci.inghubsplatform.loanapi.app.repository;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallmentPayment;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallmentPaymentId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LoanInstallmentPaymentRepository extends JpaRepository<LoanInstallmentPayment, LoanInstallmentPaymentId> {
+
+    List<LoanInstallmentPayment> findByIdLoanId(Long loanId);
+}
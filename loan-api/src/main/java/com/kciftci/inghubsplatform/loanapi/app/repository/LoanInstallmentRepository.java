@@ -1,18 +1,29 @@
 package com.kciftci.inghubsplatform.loanapi.app.repository;
 
 import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanInstallmentRepository extends JpaRepository<LoanInstallment, Long> {
     
-    List<LoanInstallment> findByLoanIdOrderByDueDateAsc(Long loanId);
+    @Query("SELECT new com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView(" +
+           "li.id, l.id, l.customer.id, li.amount, li.paidAmount, li.dueDate, li.paymentDate, li.isPaid) " +
+           "FROM LoanInstallment li JOIN li.loan l " +
+           "WHERE l.id = :loanId " +
+           "ORDER BY li.dueDate ASC")
+    List<LoanInstallmentView> findViewsByLoanId(@Param("loanId") Long loanId);
     
     @Query("SELECT li FROM LoanInstallment li WHERE li.loan.id = :loanId " +
            "AND li.isPaid = false " +
@@ -21,4 +32,20 @@ public interface LoanInstallmentRepository extends JpaRepository<LoanInstallment
     List<LoanInstallment> findUnpaidInstallmentsByLoanIdAndMaxDueDate(
             @Param("loanId") Long loanId,
             @Param("maxDueDate") ZonedDateTime maxDueDate);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow(" +
+           "l.id, l.customer.id, l.loanAmount, l.interest, l.numberOfInstallment, l.createdAt, l.isPaid, " +
+           "l.scheduleStorage, l.installmentAmount, l.firstDueDate, " +
+           "li.id, p.id.installmentNumber, li.amount, COALESCE(li.paidAmount, p.paidAmount), li.dueDate, " +
+           "COALESCE(li.paymentDate, p.paymentDate), COALESCE(li.isPaid, false)) " +
+           "FROM Loan l " +
+           "LEFT JOIN l.installments li " +
+           "LEFT JOIN LoanInstallmentPayment p ON p.id.loanId = l.id " +
+           "WHERE l.customer.id = :customerId " +
+           "ORDER BY l.createdAt ASC, l.id ASC, li.dueDate ASC, li.id ASC")
+    Stream<LoanExportRow> streamExportRowsByCustomerId(@Param("customerId") Long customerId);
 }
@@ -1,20 +1,28 @@
 package com.kciftci.inghubsplatform.loanapi.app.repository;
 
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanRepositoryCustom {
 
-    @Query("SELECT l FROM Loan l WHERE l.customer.id = :customerId " +
-        "AND (:numberOfInstallments IS NULL OR l.numberOfInstallment = :numberOfInstallments) " +
-        "AND (:isPaid IS NULL OR l.isPaid = :isPaid)")
-    List<Loan> findByCustomerIdAndFilters(@Param("customerId") Long customerId,
-                                          @Param("numberOfInstallments") Integer numberOfInstallments,
-                                          @Param("isPaid") Boolean isPaid);
+    @Query("SELECT l.customer.id FROM Loan l WHERE l.id = :loanId")
+    Optional<Long> findCustomerIdById(@Param("loanId") Long loanId);
+
+    @Query("SELECT new com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule(" +
+        "l.id, l.customer.id, l.scheduleStorage, l.numberOfInstallment, l.installmentAmount, l.firstDueDate, " +
+        "l.paidInstallmentMask) FROM Loan l WHERE l.id = :loanId")
+    Optional<LoanSchedule> findScheduleById(@Param("loanId") Long loanId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :loanId")
+    Optional<Loan> findByIdForUpdate(@Param("loanId") Long loanId);
 }
@@ -0,0 +1,12 @@
+package com.kciftci.inghubsplatform.loanapi.app.repository;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
+
+import java.util.List;
+
+public interface LoanRepositoryCustom {
+
+    List<LoanView> findPage(LoanFilter filter, LoanCursor after, int limit);
+}
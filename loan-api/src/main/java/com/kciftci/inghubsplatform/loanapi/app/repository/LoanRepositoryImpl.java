@@ -0,0 +1,41 @@
+package com.kciftci.inghubsplatform.loanapi.app.repository;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+
+class LoanRepositoryImpl implements LoanRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LoanView> findPage(LoanFilter filter, LoanCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanView> query = cb.createQuery(LoanView.class);
+        Root<Loan> loan = query.from(Loan.class);
+
+        query.select(cb.construct(LoanView.class,
+                loan.get("id"),
+                loan.get("customer").get("id"),
+                loan.get("loanAmount"),
+                loan.get("interest"),
+                loan.get("numberOfInstallment"),
+                loan.get("createdAt"),
+                loan.get("isPaid")))
+            .where(LoanSpecifications.of(filter, after).toPredicate(loan, query, cb))
+            .orderBy(cb.asc(loan.get("createdAt")), cb.asc(loan.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
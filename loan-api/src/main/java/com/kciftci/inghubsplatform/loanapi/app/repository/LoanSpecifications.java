@@ -0,0 +1,90 @@
+package com.kciftci.inghubsplatform.loanapi.app.repository;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the WHERE clause of the loan listing from the filters that are actually set,
+ * so every combination gets its own statement and plan instead of one catch-all query.
+ */
+public final class LoanSpecifications {
+
+    private LoanSpecifications() {
+    }
+
+    public static Specification<Loan> of(LoanFilter filter, LoanCursor after) {
+        List<Specification<Loan>> specifications = new ArrayList<>();
+        specifications.add(customerIdEquals(filter.getCustomerId()));
+        if (filter.getIsPaid() != null) {
+            specifications.add(isPaid(filter.getIsPaid()));
+        }
+        if (filter.getNumberOfInstallments() != null) {
+            specifications.add(numberOfInstallmentEquals(filter.getNumberOfInstallments()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            specifications.add(createdAtFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            specifications.add(createdAtBefore(filter.getCreatedBefore()));
+        }
+        if (filter.getMinAmount() != null) {
+            specifications.add(loanAmountAtLeast(filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            specifications.add(loanAmountAtMost(filter.getMaxAmount()));
+        }
+        if (after != null) {
+            specifications.add(after(after));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Loan> customerIdEquals(Long customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<Loan> isPaid(boolean isPaid) {
+        return (root, query, cb) -> cb.equal(root.get("isPaid"), isPaid);
+    }
+
+    public static Specification<Loan> numberOfInstallmentEquals(int numberOfInstallments) {
+        return (root, query, cb) -> cb.equal(root.get("numberOfInstallment"), numberOfInstallments);
+    }
+
+    public static Specification<Loan> createdAtFrom(ZonedDateTime createdFrom) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<ZonedDateTime>get("createdAt"), createdFrom);
+    }
+
+    public static Specification<Loan> createdAtBefore(ZonedDateTime createdBefore) {
+        return (root, query, cb) -> cb.lessThan(root.<ZonedDateTime>get("createdAt"), createdBefore);
+    }
+
+    public static Specification<Loan> loanAmountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<BigDecimal>get("loanAmount"), minAmount);
+    }
+
+    public static Specification<Loan> loanAmountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<BigDecimal>get("loanAmount"), maxAmount);
+    }
+
+    /**
+     * The leading {@code createdAt >=} is implied by the rest, but gives the database a range on
+     * {@code idx_loan_customer_created_at} to seek to; the OR alone cannot be used as one.
+     */
+    public static Specification<Loan> after(LoanCursor cursor) {
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.<ZonedDateTime>get("createdAt"), cursor.getCreatedAt()),
+            cb.or(
+                cb.greaterThan(root.<ZonedDateTime>get("createdAt"), cursor.getCreatedAt()),
+                cb.and(
+                    cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                    cb.greaterThan(root.<Long>get("id"), cursor.getId()))));
+    }
+}
@@ -0,0 +1,86 @@
+package com.kciftci.inghubsplatform.loanapi.app.rest;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanCreatedEvent;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanPaidEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache of serialized List Installments responses, keyed by loan id. A schedule
+ * only changes when its loan is created or paid, and the entry is evicted once that transaction commits.
+ * <p>
+ * A miss is loaded outside of any cache lock. Concurrent requests for the same loan wait for the load in
+ * flight, and an eviction during the load drops its result instead of caching a pre-payment schedule.
+ */
+@Component
+public class InstallmentResponseCache {
+
+    private final AsyncCache<Long, byte[]> cache;
+
+    public InstallmentResponseCache(MeterRegistry meterRegistry,
+                                    @Value("${loan.installment-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${loan.installment-cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "loanInstallments");
+        Gauge.builder("loan.installment.cache.hit.ratio", cache, installments -> installments.synchronous().stats().hitRate())
+            .description("Share of List Installments requests served from the cache")
+            .register(meterRegistry);
+    }
+
+    public byte[] get(long loanId, Supplier<byte[]> loader) {
+        CompletableFuture<byte[]> load = new CompletableFuture<>();
+        CompletableFuture<byte[]> cached = cache.get(loanId, (id, executor) -> load);
+        if (cached != load) {
+            return join(cached);
+        }
+
+        try {
+            byte[] installments = loader.get();
+            load.complete(installments);
+            return installments;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void evict(long loanId) {
+        cache.synchronous().invalidate(loanId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        evict(event.loanId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanPaid(LoanPaidEvent event) {
+        evict(event.loanId());
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> cached) {
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
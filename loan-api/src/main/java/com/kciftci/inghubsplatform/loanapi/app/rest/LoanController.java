@@ -1,9 +1,18 @@
 package com.kciftci.inghubsplatform.loanapi.app.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kciftci.inghubsplatform.loanapi.app.LoanFacade;
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
-import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
 import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.CustomerExposureResponse;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanBatchItemResponse;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanExportResponse;
 import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanInstallmentResponse;
 import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanRequest;
 import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanResponse;
@@ -13,7 +22,10 @@ import com.kciftci.inghubsplatform.loanapi.app.rest.validator.RequestValidator;
 import com.kciftci.inghubsplatform.loanapi.app.security.LoanSecurityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,7 +36,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -34,9 +55,13 @@ import java.util.List;
 @RequestMapping("/loan")
 public class LoanController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LoanFacade loanFacade;
     private final RequestValidator requestValidator;
     private final LoanSecurityService loanSecurityService;
+    private final ObjectMapper objectMapper;
+    private final InstallmentResponseCache installmentResponseCache;
 
     @PostMapping
     @ResponseStatus(HttpStatus.ACCEPTED)
@@ -50,26 +75,117 @@ public class LoanController {
         return LoanResponse.of(loan);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<LoanBatchItemResponse> createLoans(@RequestBody List<LoanRequest> loanRequests) {
+        requestValidator.validateBatchSize(loanRequests.size());
+
+        LoanBatchItemResponse[] responses = new LoanBatchItemResponse[loanRequests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<LoanApplication> applications = new ArrayList<>();
+        for (int i = 0; i < loanRequests.size(); i++) {
+            LoanRequest loanRequest = loanRequests.get(i);
+            try {
+                requestValidator.validateLoanRequest(loanRequest);
+            } catch (IllegalArgumentException e) {
+                responses[i] = LoanBatchItemResponse.rejected(i, e.getMessage());
+                continue;
+            }
+            acceptedIndexes.add(i);
+            applications.add(LoanApplication.builder()
+                .customerId(loanRequest.getCustomerId())
+                .amount(loanRequest.getAmount())
+                .interest(loanRequest.getInterest())
+                .numberOfInstallments(loanRequest.getNumberOfInstallments())
+                .build());
+        }
+
+        if (!applications.isEmpty()) {
+            List<LoanCreationResult> results = loanFacade.createLoans(applications);
+            for (int i = 0; i < results.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                responses[index] = LoanBatchItemResponse.of(index, results.get(i));
+            }
+        }
+        return Arrays.asList(responses);
+    }
+
     @GetMapping
-    public List<LoanResponse> listLoans(@RequestParam(required = false) Long customerId,
-                                        @RequestParam(required = false) Integer numberOfInstallments,
-                                        @RequestParam(required = false) Boolean isPaid) {
+    public ResponseEntity<List<LoanResponse>> listLoans(@RequestParam(required = false) Long customerId,
+                                                        @RequestParam(required = false) Integer numberOfInstallments,
+                                                        @RequestParam(required = false) Boolean isPaid,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                                        @RequestParam(required = false) BigDecimal minAmount,
+                                                        @RequestParam(required = false) BigDecimal maxAmount,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int size) {
+        requestValidator.validatePageSize(size);
+        requestValidator.validateRange("createdFrom", createdFrom, "createdTo", createdTo);
+        requestValidator.validateRange("minAmount", minAmount, "maxAmount", maxAmount);
+        if (customerId == null) {
+            customerId = loanSecurityService.getCurrentCustomerId();
+        } else {
+            loanSecurityService.validateCustomerAccess(customerId);
+        }
+
+        LoanFilter filter = LoanFilter.builder()
+            .customerId(customerId)
+            .numberOfInstallments(numberOfInstallments)
+            .isPaid(isPaid)
+            .createdFrom(createdFrom != null ? createdFrom.atStartOfDay(ZoneId.systemDefault()) : null)
+            .createdBefore(createdTo != null ? createdTo.plusDays(1).atStartOfDay(ZoneId.systemDefault()) : null)
+            .minAmount(minAmount)
+            .maxAmount(maxAmount)
+            .build();
+        LoanCursor after = cursor != null ? LoanCursor.decode(cursor) : null;
+        LoanSlice slice = loanFacade.listLoans(filter, after, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, slice.getNextCursor().encode());
+        }
+        return response.body(LoanResponse.listOf(slice.getLoans()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLoans(@RequestParam(required = false) Long customerId) {
+        if (customerId == null) {
+            customerId = loanSecurityService.getCurrentCustomerId();
+        } else {
+            loanSecurityService.validateCustomerAccess(customerId);
+        }
+
+        Long exportedCustomerId = customerId;
+        StreamingResponseBody body = outputStream ->
+            loanFacade.exportLoans(exportedCustomerId, rows -> writeLine(outputStream, LoanExportResponse.of(rows)));
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    @GetMapping("/exposure")
+    public CustomerExposureResponse getCustomerExposure(@RequestParam(required = false) Long customerId) {
         if (customerId == null) {
             customerId = loanSecurityService.getCurrentCustomerId();
         } else {
             loanSecurityService.validateCustomerAccess(customerId);
         }
 
-        List<Loan> loans = loanFacade.listLoans(customerId, numberOfInstallments, isPaid);
-        return LoanResponse.listOf(loans);
+        return CustomerExposureResponse.of(loanFacade.getCustomerExposure(customerId));
     }
 
     @GetMapping("/installments/{loanId}")
-    public List<LoanInstallmentResponse> listInstallments(@PathVariable Long loanId) {
+    public ResponseEntity<byte[]> listInstallments(@PathVariable Long loanId) {
         loanSecurityService.validateLoanAccess(loanId);
-        
-        List<LoanInstallment> installments = loanFacade.listLoanInstallments(loanId);
-        return LoanInstallmentResponse.listOf(installments);
+
+        byte[] installments = installmentResponseCache.get(loanId, () -> {
+            List<LoanInstallmentView> views = loanFacade.listLoanInstallments(loanId);
+            return toJson(LoanInstallmentResponse.listOf(views));
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(installments);
     }
 
     @PostMapping("/pay/{loanId}")
@@ -79,4 +195,21 @@ public class LoanController {
         PayLoan paidLoan = loanFacade.payLoan(loanId, payLoanRequest.getAmount(), payLoanRequest.getPaymentDate());
         return PayLoanResponse.of(paidLoan);
     }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.kciftci.inghubsplatform.loanapi.app.rest.dto;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class CustomerExposureResponse {
+    private Long customerId;
+    private BigDecimal outstandingAmount;
+    private BigDecimal paidAmount;
+    private LocalDate nextDueDate;
+    private int overdueInstallments;
+
+    public static CustomerExposureResponse of(CustomerExposureSummary exposure) {
+        return CustomerExposureResponse.builder()
+                .customerId(exposure.getCustomerId())
+                .outstandingAmount(exposure.getOutstandingAmount())
+                .paidAmount(exposure.getPaidAmount())
+                .nextDueDate(exposure.getNextDueDate())
+                .overdueInstallments(exposure.getOverdueInstallments())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.kciftci.inghubsplatform.loanapi.app.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanBatchItemResponse {
+    private int index;
+    private Status status;
+    private LoanResponse loan;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static LoanBatchItemResponse of(int index, LoanCreationResult result) {
+        if (result.isCreated()) {
+            return LoanBatchItemResponse.builder()
+                .index(index)
+                .status(Status.CREATED)
+                .loan(LoanResponse.of(result.getLoan()))
+                .build();
+        }
+        return rejected(index, result.getError());
+    }
+
+    public static LoanBatchItemResponse rejected(int index, String error) {
+        return LoanBatchItemResponse.builder()
+            .index(index)
+            .status(Status.REJECTED)
+            .error(error)
+            .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.kciftci.inghubsplatform.loanapi.app.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanExportResponse {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private Long id;
+    private Long customerId;
+    private BigDecimal loanAmount;
+    private BigDecimal interest;
+    private Integer numberOfInstallment;
+    private String createdAt;
+    private boolean isPaid;
+    private List<LoanInstallmentResponse> installments;
+
+    public static LoanExportResponse of(List<LoanExportRow> rows) {
+        LoanExportRow loan = rows.get(0);
+        LoanExportResponseBuilder builder = LoanExportResponse.builder()
+            .id(loan.getLoanId())
+            .customerId(loan.getCustomerId())
+            .loanAmount(loan.getLoanAmount())
+            .interest(loan.getInterest())
+            .numberOfInstallment(loan.getNumberOfInstallment())
+            .isPaid(loan.isLoanPaid())
+            .installments(rows.stream()
+                .map(LoanInstallmentResponse::of)
+                .collect(Collectors.toList()));
+
+        if (loan.getCreatedAt() != null) {
+            builder.createdAt(loan.getCreatedAt().format(DATE_FORMATTER));
+        }
+
+        return builder.build();
+    }
+}
@@ -1,7 +1,8 @@
 package com.kciftci.inghubsplatform.loanapi.app.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
 import lombok.Builder;
 import lombok.Data;
 
@@ -26,11 +27,11 @@ public class LoanInstallmentResponse {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public static LoanInstallmentResponse of(LoanInstallment installment) {
+    public static LoanInstallmentResponse of(LoanInstallmentView installment) {
         LoanInstallmentResponseBuilder builder = LoanInstallmentResponse.builder()
                 .id(installment.getId())
-                .loanId(installment.getLoan().getId())
-                .customerId(installment.getLoan().getCustomer().getId())
+                .loanId(installment.getLoanId())
+                .customerId(installment.getCustomerId())
                 .amount(installment.getAmount())
                 .paidAmount(installment.getPaidAmount())
                 .dueDate(installment.getDueDate() != null ? installment.getDueDate().format(DATE_FORMATTER) : null)
@@ -43,7 +44,24 @@ public class LoanInstallmentResponse {
         return builder.build();
     }
 
-    public static List<LoanInstallmentResponse> listOf(List<LoanInstallment> installments) {
+    public static LoanInstallmentResponse of(LoanExportRow row) {
+        LoanInstallmentResponseBuilder builder = LoanInstallmentResponse.builder()
+                .id(row.getInstallmentId())
+                .loanId(row.getLoanId())
+                .customerId(row.getCustomerId())
+                .amount(row.getAmount())
+                .paidAmount(row.getPaidAmount())
+                .dueDate(row.getDueDate() != null ? row.getDueDate().format(DATE_FORMATTER) : null)
+                .isPaid(row.isInstallmentPaid());
+
+        if (row.getPaymentDate() != null) {
+            builder.paymentDate(row.getPaymentDate().format(DATE_FORMATTER));
+        }
+
+        return builder.build();
+    }
+
+    public static List<LoanInstallmentResponse> listOf(List<LoanInstallmentView> installments) {
         return installments.stream()
                 .map(LoanInstallmentResponse::of)
                 .collect(Collectors.toList());
@@ -2,6 +2,7 @@ package com.kciftci.inghubsplatform.loanapi.app.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
 import lombok.Builder;
 import lombok.Data;
 
@@ -39,7 +40,23 @@ public class LoanResponse {
         return builder.build();
     }
 
-    public static List<LoanResponse> listOf(List<Loan> loans) {
+    public static LoanResponse of(LoanView loan) {
+        LoanResponseBuilder builder = LoanResponse.builder()
+            .id(loan.getId())
+            .customerId(loan.getCustomerId())
+            .loanAmount(loan.getLoanAmount())
+            .interest(loan.getInterest())
+            .numberOfInstallment(loan.getNumberOfInstallment())
+            .isPaid(loan.isPaid());
+
+        if (loan.getCreatedAt() != null) {
+            builder.createdAt(loan.getCreatedAt().format(DATE_FORMATTER));
+        }
+
+        return builder.build();
+    }
+
+    public static List<LoanResponse> listOf(List<LoanView> loans) {
         return loans.stream()
             .map(LoanResponse::of)
             .collect(Collectors.toList());
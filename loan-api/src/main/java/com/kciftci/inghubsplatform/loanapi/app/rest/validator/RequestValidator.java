@@ -1,5 +1,6 @@
 package com.kciftci.inghubsplatform.loanapi.app.rest.validator;
 
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -9,6 +10,18 @@ import java.math.BigDecimal;
 @Service
 public class RequestValidator {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public void validateLoanRequest(LoanRequest loanRequest) {
+        if (loanRequest == null || loanRequest.getCustomerId() == null
+            || loanRequest.getAmount() == null || loanRequest.getInterest() == null) {
+            throw new IllegalArgumentException("customerId, amount and interest are required");
+        }
+        validateInterestRate(loanRequest.getInterest());
+        validateInstallments(loanRequest.getNumberOfInstallments());
+    }
+
     public void validateInterestRate(BigDecimal interest) {
         if (interest.compareTo(BigDecimal.valueOf(0.1)) < 0 || interest.compareTo(BigDecimal.valueOf(0.5)) > 0) {
             throw new IllegalArgumentException("Interest rate must be between 0.1 and 0.5");
@@ -21,4 +34,22 @@ public class RequestValidator {
         }
     }
 
+    public void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public void validateBatchSize(int size) {
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " loans");
+        }
+    }
+
+    public <T extends Comparable<? super T>> void validateRange(String lowerName, T lower, String upperName, T upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+            throw new IllegalArgumentException(lowerName + " must not be after " + upperName);
+        }
+    }
+
 }
@@ -0,0 +1,157 @@
+package com.kciftci.inghubsplatform.loanapi.app.schedule;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallmentPayment;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallmentPaymentId;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentPaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Derives the schedule from the loan terms and keeps only payment state: a bitmap of paid
+ * installments on the loan and one {@code loan_installment_payment} row per paid installment.
+ * Derived installments have no id.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompactInstallmentStore implements InstallmentStore {
+
+    // the paid amount of an unpaid installment as its loan_installment column returns it
+    private static final BigDecimal UNPAID_AMOUNT = new BigDecimal("0.00");
+
+    private final LoanInstallmentPaymentRepository paymentRepository;
+
+    @Override
+    public ScheduleStorage storage() {
+        return ScheduleStorage.COMPACT;
+    }
+
+    @Override
+    public void createSchedules(List<Loan> loans) {
+        for (Loan loan : loans) {
+            if (loan.getNumberOfInstallment() > Long.SIZE) {
+                throw new IllegalArgumentException("Compact schedules support at most " + Long.SIZE + " installments");
+            }
+        }
+    }
+
+    @Override
+    public List<LoanInstallmentView> findInstallments(LoanSchedule schedule) {
+        Map<Integer, LoanInstallmentPayment> payments = schedule.getPaidInstallmentMask() == 0
+            ? Map.of()
+            : paymentsByNumber(paymentRepository.findByIdLoanId(schedule.getLoanId()));
+
+        List<LoanInstallmentView> installments = new ArrayList<>(schedule.getNumberOfInstallment());
+        for (int number = 1; number <= schedule.getNumberOfInstallment(); number++) {
+            LoanInstallmentPayment payment = payments.get(number);
+            installments.add(LoanInstallmentView.builder()
+                .loanId(schedule.getLoanId())
+                .customerId(schedule.getCustomerId())
+                .amount(schedule.getInstallmentAmount())
+                .paidAmount(payment != null ? payment.getPaidAmount() : UNPAID_AMOUNT)
+                .dueDate(dueDate(schedule.getFirstDueDate(), number))
+                .paymentDate(payment != null ? payment.getPaymentDate() : null)
+                .isPaid(payment != null)
+                .build());
+        }
+        return installments;
+    }
+
+    @Override
+    public List<Installment> findUnpaid(Loan loan, ZonedDateTime maxDueDate) {
+        List<Installment> installments = new ArrayList<>();
+        for (int number = 1; number <= loan.getNumberOfInstallment(); number++) {
+            if (isPaid(loan.getPaidInstallmentMask(), number)) {
+                continue;
+            }
+            ZonedDateTime dueDate = dueDate(loan.getFirstDueDate(), number);
+            if (dueDate.isAfter(maxDueDate)) {
+                break;
+            }
+            installments.add(Installment.builder()
+                .number(number)
+                .amount(loan.getInstallmentAmount())
+                .dueDate(dueDate)
+                .paidAmount(BigDecimal.ZERO)
+                .isPaid(false)
+                .build());
+        }
+        return installments;
+    }
+
+    @Override
+    public void markPaid(Loan loan, List<Installment> installments) {
+        long mask = loan.getPaidInstallmentMask();
+        List<LoanInstallmentPayment> payments = new ArrayList<>(installments.size());
+        for (Installment installment : installments) {
+            mask |= bit(installment.getNumber());
+            payments.add(LoanInstallmentPayment.builder()
+                .id(new LoanInstallmentPaymentId(loan.getId(), installment.getNumber()))
+                .paidAmount(installment.getPaidAmount())
+                .paymentDate(installment.getPaymentDate())
+                .build());
+        }
+        loan.setPaidInstallmentMask(mask);
+        paymentRepository.saveAll(payments);
+    }
+
+    @Override
+    public List<LoanExportRow> exportRows(List<LoanExportRow> loanRows) {
+        LoanExportRow loan = loanRows.get(0);
+        Map<Integer, LoanExportRow> payments = new HashMap<>();
+        for (LoanExportRow row : loanRows) {
+            if (row.getInstallmentNumber() != null) {
+                payments.put(row.getInstallmentNumber(), row);
+            }
+        }
+
+        List<LoanExportRow> rows = new ArrayList<>(loan.getNumberOfInstallment());
+        for (int number = 1; number <= loan.getNumberOfInstallment(); number++) {
+            LoanExportRow payment = payments.get(number);
+            rows.add(new LoanExportRow(loan.getLoanId(), loan.getCustomerId(), loan.getLoanAmount(), loan.getInterest(),
+                loan.getNumberOfInstallment(), loan.getCreatedAt(), loan.isLoanPaid(), loan.getScheduleStorage(),
+                loan.getScheduledInstallmentAmount(), loan.getFirstDueDate(), null, number,
+                loan.getScheduledInstallmentAmount(),
+                payment != null ? payment.getPaidAmount() : UNPAID_AMOUNT,
+                dueDate(loan.getFirstDueDate(), number),
+                payment != null ? payment.getPaymentDate() : null,
+                payment != null));
+        }
+        return rows;
+    }
+
+    /**
+     * Due dates of ROWS schedules were computed in the server zone at creation time, so the derived
+     * ones are too; this keeps month arithmetic across DST changes identical between the two modes.
+     */
+    private static ZonedDateTime dueDate(ZonedDateTime firstDueDate, int number) {
+        return firstDueDate.withZoneSameInstant(ZoneId.systemDefault()).plusMonths(number - 1);
+    }
+
+    private static boolean isPaid(long mask, int number) {
+        return (mask & bit(number)) != 0;
+    }
+
+    private static long bit(int number) {
+        return 1L << (number - 1);
+    }
+
+    private static Map<Integer, LoanInstallmentPayment> paymentsByNumber(List<LoanInstallmentPayment> payments) {
+        return payments.stream()
+            .collect(Collectors.toMap(payment -> payment.getId().getInstallmentNumber(), Function.identity()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.kciftci.inghubsplatform.loanapi.app.schedule;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * One installment of a loan schedule, independent of how the schedule is stored.
+ * {@code row} is only set for {@link com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage#ROWS} schedules.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Installment {
+    private int number;
+    private BigDecimal amount;
+    private ZonedDateTime dueDate;
+    private BigDecimal paidAmount;
+    private ZonedDateTime paymentDate;
+    private boolean isPaid;
+    private LoanInstallment row;
+}
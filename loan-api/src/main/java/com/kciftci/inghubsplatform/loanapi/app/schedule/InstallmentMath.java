@@ -0,0 +1,72 @@
+package com.kciftci.inghubsplatform.loanapi.app.schedule;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Early payment discount and late payment penalty on primitive values, so the per-installment
+ * calculation allocates nothing. Money is an unscaled {@code long} at the scale of the installment
+ * amount (minor units for scale 2), and points in time are epoch seconds plus nano-of-second.
+ * <p>
+ * Results are identical, scale included, to the {@link BigDecimal} rules they replace:
+ * {@code amount - amount * 0.001 * days} when paid early and {@code amount + amount * 0.001 * days}
+ * when paid late, where {@code days} is the number of whole 24-hour periods between payment and
+ * due date as {@link java.time.Duration#toDays()} counts them.
+ */
+public final class InstallmentMath {
+
+    /**
+     * Scale added to the installment amount by the 0.001 per-day rate.
+     */
+    public static final int RATE_SCALE = 3;
+
+    private static final long PER_MILLE = 1_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private InstallmentMath() {
+    }
+
+    /**
+     * Amount to pay for an installment, converting at the entity boundary. An installment paid at
+     * exactly its due instant costs its amount as is.
+     */
+    public static BigDecimal finalAmount(BigDecimal amount, ZonedDateTime dueDate, ZonedDateTime paymentDate) {
+        if (paymentDate.isEqual(dueDate)) {
+            return amount;
+        }
+        long adjusted = adjustedAmount(amount.unscaledValue().longValueExact(),
+            paymentDate.toEpochSecond(), paymentDate.getNano(), dueDate.toEpochSecond(), dueDate.getNano());
+        return BigDecimal.valueOf(adjusted, amount.scale() + RATE_SCALE);
+    }
+
+    /**
+     * Unscaled amount to pay at {@code scale + RATE_SCALE} for an unscaled installment amount at
+     * {@code scale}: {@code amount * (1000 - days)} when paid early, {@code amount * (1000 + days)} when late.
+     */
+    public static long adjustedAmount(long amount, long paymentSecond, int paymentNano, long dueSecond, int dueNano) {
+        int order = compare(paymentSecond, paymentNano, dueSecond, dueNano);
+        if (order < 0) {
+            return Math.multiplyExact(amount, PER_MILLE - wholeDaysBetween(paymentSecond, paymentNano, dueSecond, dueNano));
+        }
+        if (order > 0) {
+            return Math.multiplyExact(amount, PER_MILLE + wholeDaysBetween(dueSecond, dueNano, paymentSecond, paymentNano));
+        }
+        return Math.multiplyExact(amount, PER_MILLE);
+    }
+
+    /**
+     * Whole 24-hour periods from an earlier to a later point in time.
+     */
+    public static long wholeDaysBetween(long fromSecond, int fromNano, long toSecond, int toNano) {
+        long seconds = toSecond - fromSecond;
+        if (toNano < fromNano) {
+            seconds--;
+        }
+        return seconds / SECONDS_PER_DAY;
+    }
+
+    private static int compare(long firstSecond, int firstNano, long secondSecond, int secondNano) {
+        int order = Long.compare(firstSecond, secondSecond);
+        return order != 0 ? order : Integer.compare(firstNano, secondNano);
+    }
+}
@@ -0,0 +1,36 @@
+package com.kciftci.inghubsplatform.loanapi.app.schedule;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Persists and reads installment schedules for loans of one {@link ScheduleStorage} mode.
+ * Loans carry their schedule terms (installment amount and first due date) in every mode.
+ */
+public interface InstallmentStore {
+
+    ScheduleStorage storage();
+
+    void createSchedules(List<Loan> loans);
+
+    List<LoanInstallmentView> findInstallments(LoanSchedule schedule);
+
+    /**
+     * @return the unpaid installments due on or before {@code maxDueDate}, earliest first
+     */
+    List<Installment> findUnpaid(Loan loan, ZonedDateTime maxDueDate);
+
+    void markPaid(Loan loan, List<Installment> installments);
+
+    /**
+     * @param loanRows the export rows of one loan as read by the export query
+     * @return one row per installment of the loan
+     */
+    List<LoanExportRow> exportRows(List<LoanExportRow> loanRows);
+}
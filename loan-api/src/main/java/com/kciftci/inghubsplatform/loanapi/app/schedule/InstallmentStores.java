@@ -0,0 +1,37 @@
+package com.kciftci.inghubsplatform.loanapi.app.schedule;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class InstallmentStores {
+
+    private final Map<ScheduleStorage, InstallmentStore> stores = new EnumMap<>(ScheduleStorage.class);
+    private final InstallmentStore defaultStore;
+
+    public InstallmentStores(List<InstallmentStore> stores,
+                             @Value("${loan.schedule.storage:ROWS}") ScheduleStorage defaultStorage) {
+        stores.forEach(store -> this.stores.put(store.storage(), store));
+        this.defaultStore = of(defaultStorage);
+    }
+
+    /**
+     * @return the store for new loans, as configured by {@code loan.schedule.storage}
+     */
+    public InstallmentStore defaultStore() {
+        return defaultStore;
+    }
+
+    public InstallmentStore of(ScheduleStorage storage) {
+        InstallmentStore store = stores.get(storage != null ? storage : ScheduleStorage.ROWS);
+        if (store == null) {
+            throw new IllegalStateException("No installment store for " + storage);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,90 @@
+package com.kciftci.inghubsplatform.loanapi.app.schedule;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores one {@code loan_installment} row per installment.
+ */
+@Component
+@RequiredArgsConstructor
+public class RowInstallmentStore implements InstallmentStore {
+
+    private final LoanInstallmentRepository loanInstallmentRepository;
+
+    @Override
+    public ScheduleStorage storage() {
+        return ScheduleStorage.ROWS;
+    }
+
+    @Override
+    public void createSchedules(List<Loan> loans) {
+        List<LoanInstallment> installments = new ArrayList<>();
+        for (Loan loan : loans) {
+            for (int i = 0; i < loan.getNumberOfInstallment(); i++) {
+                installments.add(LoanInstallment.builder()
+                    .loan(loan)
+                    .amount(loan.getInstallmentAmount())
+                    .paidAmount(BigDecimal.ZERO)
+                    .dueDate(loan.getFirstDueDate().plusMonths(i))
+                    .paymentDate(null)
+                    .isPaid(false)
+                    .build());
+            }
+        }
+        loanInstallmentRepository.saveAll(installments);
+    }
+
+    @Override
+    public List<LoanInstallmentView> findInstallments(LoanSchedule schedule) {
+        return loanInstallmentRepository.findViewsByLoanId(schedule.getLoanId());
+    }
+
+    @Override
+    public List<Installment> findUnpaid(Loan loan, ZonedDateTime maxDueDate) {
+        List<LoanInstallment> rows = loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(loan.getId(), maxDueDate);
+
+        // installments are always paid earliest first, so the unpaid ones follow the paid prefix
+        List<Installment> installments = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LoanInstallment row = rows.get(i);
+            installments.add(Installment.builder()
+                .number(loan.getPaidInstallmentCount() + i + 1)
+                .amount(row.getAmount())
+                .dueDate(row.getDueDate())
+                .paidAmount(row.getPaidAmount())
+                .paymentDate(row.getPaymentDate())
+                .isPaid(row.isPaid())
+                .row(row)
+                .build());
+        }
+        return installments;
+    }
+
+    @Override
+    public void markPaid(Loan loan, List<Installment> installments) {
+        for (Installment installment : installments) {
+            LoanInstallment row = installment.getRow();
+            row.setPaidAmount(installment.getPaidAmount());
+            row.setPaymentDate(installment.getPaymentDate());
+            row.setPaid(true);
+        }
+    }
+
+    @Override
+    public List<LoanExportRow> exportRows(List<LoanExportRow> loanRows) {
+        return loanRows;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kciftci.inghubsplatform.loanapi.app.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@RequiredArgsConstructor
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return verify(authentication);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        UserDetails cached = verifiedCredentialCache.get(username, password);
+        if (cached != null) {
+            sample.stop(timer("hit", "success"));
+            return authenticated(cached, authentication);
+        }
+
+        Authentication result = verify(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails userDetails) {
+            verifiedCredentialCache.put(username, password, userDetails);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private Authentication verify(Authentication authentication) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer("miss", outcome));
+        }
+    }
+
+    /**
+     * {@code loan.authentication}, split by verified-credential cache hits and misses, which pay for BCrypt.
+     */
+    private Timer timer(String cache, String outcome) {
+        return Timer.builder("loan.authentication")
+            .description("HTTP Basic authentications")
+            .tag("cache", cache)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Authentication authenticated(UserDetails userDetails, Authentication request) {
+        UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+            .authenticated(userDetails, null, userDetails.getAuthorities());
+        result.setDetails(request.getDetails());
+        return result;
+    }
+}
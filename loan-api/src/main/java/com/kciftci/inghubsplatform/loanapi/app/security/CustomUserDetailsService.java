@@ -22,10 +22,12 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-            .username(user.getUsername())
-            .password(user.getPassword())
-            .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
-            .build();
+        return new LoanUserDetails(
+            user.getId(),
+            user.getUsername(),
+            user.getPassword(),
+            user.getRole(),
+            user.getCustomer() != null ? user.getCustomer().getId() : null,
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
     }
 } 
\ No newline at end of file
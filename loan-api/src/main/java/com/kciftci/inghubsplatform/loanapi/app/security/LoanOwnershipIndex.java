@@ -0,0 +1,93 @@
+package com.kciftci.inghubsplatform.loanapi.app.security;
+
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanCreatedEvent;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Direct-mapped loanId -> customerId cache. A loan's owner never changes, so a slot only ever needs to be
+ * overwritten, never invalidated. Each slot is guarded by a sequence stamp that is odd while a writer
+ * updates it; readers treat a torn read as a miss and fall back to the database.
+ */
+@Component
+public class LoanOwnershipIndex {
+
+    public static final long NO_OWNER = -1L;
+
+    private final LoanRepository loanRepository;
+    private final int mask;
+    private final AtomicLongArray stamps;
+    private final AtomicLongArray loanIds;
+    private final AtomicLongArray customerIds;
+
+    public LoanOwnershipIndex(LoanRepository loanRepository,
+                              @Value("${loan.security.ownership-index.capacity:65536}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ownership index capacity must be positive");
+        }
+        int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.loanRepository = loanRepository;
+        this.mask = slots - 1;
+        this.stamps = new AtomicLongArray(slots);
+        this.loanIds = new AtomicLongArray(slots);
+        this.customerIds = new AtomicLongArray(slots);
+    }
+
+    public long customerIdOf(long loanId) {
+        long customerId = lookup(loanId);
+        if (customerId != NO_OWNER) {
+            return customerId;
+        }
+
+        return loanRepository.findCustomerIdById(loanId)
+            .map(ownerId -> {
+                put(loanId, ownerId);
+                return ownerId;
+            })
+            .orElse(NO_OWNER);
+    }
+
+    public void put(long loanId, long customerId) {
+        if (loanId <= 0) {
+            return;
+        }
+        int slot = slotOf(loanId);
+        long stamp = stamps.get(slot);
+        if ((stamp & 1L) != 0 || !stamps.compareAndSet(slot, stamp, stamp + 1)) {
+            return;
+        }
+        loanIds.set(slot, loanId);
+        customerIds.set(slot, customerId);
+        stamps.set(slot, stamp + 2);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanCreated(LoanCreatedEvent event) {
+        put(event.loanId(), event.customerId());
+    }
+
+    private long lookup(long loanId) {
+        if (loanId <= 0) {
+            return NO_OWNER;
+        }
+        int slot = slotOf(loanId);
+        long stamp = stamps.get(slot);
+        if ((stamp & 1L) != 0) {
+            return NO_OWNER;
+        }
+        long cachedLoanId = loanIds.get(slot);
+        long customerId = customerIds.get(slot);
+        if (cachedLoanId != loanId || stamps.get(slot) != stamp) {
+            return NO_OWNER;
+        }
+        return customerId;
+    }
+
+    private int slotOf(long loanId) {
+        return (int) (loanId ^ (loanId >>> 32)) & mask;
+    }
+}
@@ -1,11 +1,11 @@
 package com.kciftci.inghubsplatform.loanapi.app.security;
 
-import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
 import com.kciftci.inghubsplatform.loanapi.app.entity.User;
 import com.kciftci.inghubsplatform.loanapi.app.exception.UnauthorizedAccessException;
 import com.kciftci.inghubsplatform.loanapi.app.model.UserRole;
-import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
 import com.kciftci.inghubsplatform.loanapi.app.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,47 +16,80 @@ import org.springframework.stereotype.Service;
 public class LoanSecurityService {
 
     private final UserRepository userRepository;
-    private final LoanRepository loanRepository;
+    private final LoanOwnershipIndex loanOwnershipIndex;
+    private final MeterRegistry meterRegistry;
 
     public void validateCustomerAccess(Long customerId) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
+        timed("customer", () -> validateCustomerAccess(currentUser(), customerId));
+    }
 
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UnauthorizedAccessException("User not found"));
+    public void validateLoanAccess(Long loanId) {
+        timed("loan", () -> {
+            CurrentUser user = currentUser();
+
+            long customerId = loanOwnershipIndex.customerIdOf(loanId);
+            if (customerId == LoanOwnershipIndex.NO_OWNER) {
+                throw new UnauthorizedAccessException("Loan not found");
+            }
+
+            validateCustomerAccess(user, customerId);
+        });
+    }
+
+    public Long getCurrentCustomerId() {
+        CurrentUser user = currentUser();
+
+        if (user.role() == UserRole.CUSTOMER) {
+            if (user.customerId() == null) {
+                throw new UnauthorizedAccessException("Customer user has no associated customer record");
+            }
+            return user.customerId();
+        }
 
-        if (user.getRole() == UserRole.ADMIN) {
+        throw new UnauthorizedAccessException("Only customer users can get their customer ID");
+    }
+
+    private void validateCustomerAccess(CurrentUser user, long customerId) {
+        if (user.role() == UserRole.ADMIN) {
             return;
         }
 
-        if (user.getRole() == UserRole.CUSTOMER) {
-            if (user.getCustomer() == null || !user.getCustomer().getId().equals(customerId)) {
+        if (user.role() == UserRole.CUSTOMER) {
+            if (user.customerId() == null || user.customerId() != customerId) {
                 throw new UnauthorizedAccessException("Customer can only access their own data");
             }
         }
     }
 
-    public void validateLoanAccess(Long loanId) {
-        Loan loan = loanRepository.findById(loanId)
-            .orElseThrow(() -> new UnauthorizedAccessException("Loan not found"));
-
-        validateCustomerAccess(loan.getCustomer().getId());
+    /**
+     * Times a check as {@code loan.security.checks}, tagged with what was checked and whether access was granted.
+     */
+    private void timed(String check, Runnable validation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "denied";
+        try {
+            validation.run();
+            outcome = "granted";
+        } finally {
+            sample.stop(Timer.builder("loan.security.checks")
+                .description("Access checks of LoanSecurityService")
+                .tag("check", check)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
     }
 
-    public Long getCurrentCustomerId() {
+    private CurrentUser currentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
+        if (authentication.getPrincipal() instanceof LoanUserDetails userDetails) {
+            return new CurrentUser(userDetails.getRole(), userDetails.getCustomerId());
+        }
 
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findByUsername(authentication.getName())
             .orElseThrow(() -> new UnauthorizedAccessException("User not found"));
+        return new CurrentUser(user.getRole(), user.getCustomer() != null ? user.getCustomer().getId() : null);
+    }
 
-        if (user.getRole() == UserRole.CUSTOMER) {
-            if (user.getCustomer() == null) {
-                throw new UnauthorizedAccessException("Customer user has no associated customer record");
-            }
-            return user.getCustomer().getId();
-        }
-
-        throw new UnauthorizedAccessException("Only customer users can get their customer ID");
+    private record CurrentUser(UserRole role, Long customerId) {
     }
-} 
\ No newline at end of file
+}
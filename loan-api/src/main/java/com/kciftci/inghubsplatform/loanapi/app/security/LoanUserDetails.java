@@ -0,0 +1,24 @@
+package com.kciftci.inghubsplatform.loanapi.app.security;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+@Getter
+public class LoanUserDetails extends User {
+
+    private final Long userId;
+    private final UserRole role;
+    private final Long customerId;
+
+    public LoanUserDetails(Long userId, String username, String password, UserRole role, Long customerId,
+                           Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+        this.role = role;
+        this.customerId = customerId;
+    }
+}
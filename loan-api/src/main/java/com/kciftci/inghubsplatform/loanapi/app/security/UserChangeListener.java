@@ -0,0 +1,33 @@
+package com.kciftci.inghubsplatform.loanapi.app.security;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final VerifiedCredentialCache verifiedCredentialCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        verifiedCredentialCache.evict(username);
+
+        // A request verified against the old row before commit could repopulate the cache, so evict again afterwards.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    verifiedCredentialCache.evict(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.kciftci.inghubsplatform.loanapi.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded, TTL-evicting cache of credentials that already passed BCrypt verification.
+ * Entries are keyed by an HMAC of the Basic credentials under a per-process random key,
+ * so neither the raw password nor a replayable digest is kept in memory.
+ */
+@Slf4j
+@Component
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec hmacKey;
+    private final ThreadLocal<Mac> macs;
+    private final Cache<String, UserDetails> cache;
+
+    public VerifiedCredentialCache(MeterRegistry meterRegistry,
+                                   @Value("${loan.security.credential-cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${loan.security.credential-cache.ttl:PT5M}") Duration ttl) {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.hmacKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedCredentials");
+    }
+
+    public UserDetails get(String username, String password) {
+        return cache.getIfPresent(keyOf(username, password));
+    }
+
+    public void put(String username, String password, UserDetails userDetails) {
+        cache.put(keyOf(username, password), userDetails);
+    }
+
+    public void evict(String username) {
+        cache.asMap().values().removeIf(userDetails -> userDetails.getUsername().equals(username));
+        log.debug("Evicted verified credentials of user {}", username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private String keyOf(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) ':');
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+}
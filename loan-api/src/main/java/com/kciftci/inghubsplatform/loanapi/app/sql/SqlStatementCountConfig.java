@@ -0,0 +1,44 @@
+package com.kciftci.inghubsplatform.loanapi.app.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request SQL statement counting, enabled by {@code loan.sql.statement-count.enabled}. The filter
+ * runs ahead of Spring Security, so user lookups during authentication are counted too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "loan.sql.statement-count.enabled", havingValue = "true")
+public class SqlStatementCountConfig implements WebMvcConfigurer {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(
+        MeterRegistry meterRegistry,
+        @Value("${loan.sql.statement-count.warn-threshold:20}") int warnThreshold) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+            new FilterRegistrationBean<>(new SqlStatementCountFilter(meterRegistry, warnThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new SqlStatementCountInterceptor());
+    }
+}
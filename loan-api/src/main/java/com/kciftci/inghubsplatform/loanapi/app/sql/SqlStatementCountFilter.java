@@ -0,0 +1,175 @@
+package com.kciftci.inghubsplatform.loanapi.app.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports the SQL statements executed for each request: as the {@value #HEADER} response header,
+ * as the {@code loan.sql.statements} distribution summary, and in the log. The header holds the
+ * count when the response body starts, which covers all queries except those of a streamed body
+ * that come after its first line.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+    static final String COUNT_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        AtomicInteger count = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (count == null) {
+            count = new AtomicInteger();
+            request.setAttribute(COUNT_ATTRIBUTE, count);
+        }
+
+        StatementCountResponse countingResponse = new StatementCountResponse(response, count);
+        SqlStatementCounter.bind(count);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            SqlStatementCounter.unbind();
+            if (!request.isAsyncStarted()) {
+                countingResponse.setCountHeader();
+                report(request, count.get());
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("loan.sql.statements")
+            .description("SQL statements executed per request")
+            .baseUnit("statements")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(statements);
+
+        if (statements > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements", request.getMethod(), uri, statements);
+        } else {
+            log.debug("{} {} executed {} SQL statements", request.getMethod(), uri, statements);
+        }
+    }
+
+    /**
+     * Sets the header right before the first byte of the body, when it can still be sent.
+     */
+    private static final class StatementCountResponse extends HttpServletResponseWrapper {
+
+        private final AtomicInteger count;
+        private ServletOutputStream outputStream;
+
+        private StatementCountResponse(HttpServletResponse response, AtomicInteger count) {
+            super(response);
+            this.count = count;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeaderSettingOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setCountHeader();
+            super.flushBuffer();
+        }
+
+        private void setCountHeader() {
+            if (!isCommitted()) {
+                setHeader(HEADER, String.valueOf(count.get()));
+            }
+        }
+    }
+
+    private static final class HeaderSettingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final StatementCountResponse response;
+        private boolean headerSet;
+
+        private HeaderSettingOutputStream(ServletOutputStream delegate, StatementCountResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            beforeWrite();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            beforeWrite();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            beforeWrite();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            beforeWrite();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+        private void beforeWrite() {
+            if (!headerSet) {
+                headerSet = true;
+                response.setCountHeader();
+            }
+        }
+    }
+}
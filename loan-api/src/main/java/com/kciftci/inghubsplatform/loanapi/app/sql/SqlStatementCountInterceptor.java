@@ -0,0 +1,28 @@
+package com.kciftci.inghubsplatform.loanapi.app.sql;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carries the statement count of a request over to the async thread that writes a
+ * {@code StreamingResponseBody}, such as the NDJSON export.
+ */
+class SqlStatementCountInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object count = request.getAttribute(SqlStatementCountFilter.COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (count instanceof AtomicInteger statementCount) {
+            SqlStatementCounter.bind(statementCount);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        SqlStatementCounter.unbind();
+    }
+}
@@ -0,0 +1,32 @@
+package com.kciftci.inghubsplatform.loanapi.app.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a count is bound to the current thread.
+ * {@link SqlStatementCountFilter} binds one count per request, and {@link SqlStatementCountInterceptor}
+ * binds it to the thread that writes a streamed response.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = CURRENT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    static void bind(AtomicInteger count) {
+        CURRENT.set(count);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+}
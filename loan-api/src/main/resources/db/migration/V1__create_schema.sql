@@ -0,0 +1,59 @@
+CREATE TABLE customer (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name              VARCHAR(255),
+    surname           VARCHAR(255),
+    credit_limit      NUMERIC(38, 2),
+    used_credit_limit NUMERIC(38, 2),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username    VARCHAR(255),
+    password    VARCHAR(255),
+    role        ENUM ('ADMIN', 'CUSTOMER'),
+    customer_id BIGINT UNIQUE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_users_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+CREATE SEQUENCE loan_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE loan (
+    id                     BIGINT NOT NULL,
+    customer_id            BIGINT,
+    loan_amount            NUMERIC(38, 2),
+    interest               NUMERIC(38, 2),
+    number_of_installment  INTEGER,
+    created_at             TIMESTAMP(6) WITH TIME ZONE,
+    is_paid                BOOLEAN NOT NULL,
+    paid_installment_count INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_loan_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+CREATE SEQUENCE loan_installment_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE loan_installment (
+    id           BIGINT NOT NULL,
+    loan_id      BIGINT,
+    amount       NUMERIC(38, 2),
+    paid_amount  NUMERIC(38, 2),
+    due_date     TIMESTAMP(6) WITH TIME ZONE,
+    payment_date TIMESTAMP(6) WITH TIME ZONE,
+    is_paid      BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_loan_installment_loan FOREIGN KEY (loan_id) REFERENCES loan (id)
+);
+
+-- login: UserRepository.findByUsername
+CREATE UNIQUE INDEX idx_users_username ON users (username);
+
+-- GET /loan filtered by isPaid and numberOfInstallments
+CREATE INDEX idx_loan_customer_paid_installments ON loan (customer_id, is_paid, number_of_installment);
+
+-- GET /loan keyset paging and the NDJSON export, both ordered by (created_at, id)
+CREATE INDEX idx_loan_customer_created_at ON loan (customer_id, created_at, id);
+
+-- POST /loan/pay/{loanId}: unpaid installments of a loan up to a due date, in due date order
+CREATE INDEX idx_loan_installment_loan_paid_due ON loan_installment (loan_id, is_paid, due_date);
@@ -0,0 +1,19 @@
+ALTER TABLE loan ADD COLUMN schedule_storage ENUM ('ROWS', 'COMPACT') DEFAULT 'ROWS' NOT NULL;
+ALTER TABLE loan ADD COLUMN installment_amount NUMERIC(38, 2);
+ALTER TABLE loan ADD COLUMN first_due_date TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE loan ADD COLUMN paid_installment_mask BIGINT DEFAULT 0 NOT NULL;
+
+-- schedule terms of loans created before this version, so every loan can be derived from its terms
+UPDATE loan l SET
+    installment_amount = (SELECT MIN(li.amount) FROM loan_installment li WHERE li.loan_id = l.id),
+    first_due_date = (SELECT MIN(li.due_date) FROM loan_installment li WHERE li.loan_id = l.id);
+
+-- only paid installments of COMPACT loans have a row here; the schedule itself is derived from the loan terms
+CREATE TABLE loan_installment_payment (
+    loan_id            BIGINT NOT NULL,
+    installment_number INTEGER NOT NULL,
+    paid_amount        NUMERIC(38, 2),
+    payment_date       TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (loan_id, installment_number),
+    CONSTRAINT fk_loan_installment_payment_loan FOREIGN KEY (loan_id) REFERENCES loan (id)
+);
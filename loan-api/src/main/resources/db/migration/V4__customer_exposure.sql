@@ -0,0 +1,48 @@
+-- running totals of a customer's loans, updated in the transaction that creates or pays a loan
+CREATE TABLE customer_exposure (
+    customer_id        BIGINT NOT NULL,
+    outstanding_amount NUMERIC(38, 2) NOT NULL,
+    paid_amount        NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (customer_id),
+    CONSTRAINT fk_customer_exposure_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+-- unpaid installments of a customer per due day in the server time zone; days without unpaid installments have no row
+CREATE TABLE customer_exposure_due (
+    customer_id         BIGINT NOT NULL,
+    due_day             DATE NOT NULL,
+    unpaid_installments INTEGER NOT NULL,
+    PRIMARY KEY (customer_id, due_day),
+    CONSTRAINT fk_customer_exposure_due_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+-- every installment of the loans created before this version, with its due day in the session time zone, which
+-- H2 takes from the server. COMPACT schedules are derived from their terms and payments as CompactInstallmentStore does
+CREATE VIEW v4_installment AS
+SELECT l.customer_id, li.amount, COALESCE(li.paid_amount, 0) AS paid_amount, CAST(li.due_date AT LOCAL AS DATE) AS due_day,
+       li.is_paid
+FROM loan l
+JOIN loan_installment li ON li.loan_id = l.id
+WHERE l.schedule_storage = 'ROWS'
+UNION ALL
+SELECT l.customer_id, l.installment_amount, COALESCE(p.paid_amount, 0),
+       DATEADD(MONTH, n.x - 1, CAST(l.first_due_date AT LOCAL AS DATE)), p.loan_id IS NOT NULL
+FROM loan l
+JOIN SYSTEM_RANGE(1, 64) n ON n.x <= l.number_of_installment
+LEFT JOIN loan_installment_payment p ON p.loan_id = l.id AND p.installment_number = n.x
+WHERE l.schedule_storage = 'COMPACT';
+
+INSERT INTO customer_exposure (customer_id, outstanding_amount, paid_amount)
+SELECT customer_id,
+       SUM(CASE WHEN is_paid THEN 0 ELSE amount END),
+       SUM(CASE WHEN is_paid THEN paid_amount ELSE 0 END)
+FROM v4_installment
+GROUP BY customer_id;
+
+INSERT INTO customer_exposure_due (customer_id, due_day, unpaid_installments)
+SELECT customer_id, due_day, COUNT(*)
+FROM v4_installment
+WHERE NOT is_paid
+GROUP BY customer_id, due_day;
+
+DROP VIEW v4_installment;
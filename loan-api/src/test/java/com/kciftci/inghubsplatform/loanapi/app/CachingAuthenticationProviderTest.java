@@ -0,0 +1,104 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.security.CachingAuthenticationProvider;
+import com.kciftci.inghubsplatform.loanapi.app.security.VerifiedCredentialCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    private CachingAuthenticationProvider cachingAuthenticationProvider;
+
+    private UserDetails customer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedCredentialCache = new VerifiedCredentialCache(meterRegistry, 100, Duration.ofMinutes(5));
+        cachingAuthenticationProvider = new CachingAuthenticationProvider(delegate, verifiedCredentialCache, meterRegistry);
+        customer = User.withUsername("customer")
+            .password("{noop}customer123")
+            .authorities(List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")))
+            .build();
+    }
+
+    @Test
+    void authenticate_SameCredentialsTwice_ShouldVerifyOnce() {
+        when(delegate.authenticate(any())).thenReturn(verified(customer));
+
+        Authentication first = cachingAuthenticationProvider.authenticate(request("customer", "customer123"));
+        Authentication second = cachingAuthenticationProvider.authenticate(request("customer", "customer123"));
+
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("customer");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_CUSTOMER");
+        verify(delegate, times(1)).authenticate(any());
+        assertThat(meterRegistry.get("loan.authentication").tags("cache", "miss", "outcome", "success").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("loan.authentication").tags("cache", "hit", "outcome", "success").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_WrongPassword_ShouldNotBeServedFromCache() {
+        when(delegate.authenticate(any()))
+            .thenReturn(verified(customer))
+            .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        cachingAuthenticationProvider.authenticate(request("customer", "customer123"));
+
+        assertThatThrownBy(() -> cachingAuthenticationProvider.authenticate(request("customer", "wrong")))
+            .isInstanceOf(BadCredentialsException.class);
+        assertThat(meterRegistry.get("loan.authentication").tags("cache", "miss", "outcome", "failure").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_AfterEviction_ShouldVerifyAgain() {
+        when(delegate.authenticate(any())).thenReturn(verified(customer));
+
+        cachingAuthenticationProvider.authenticate(request("customer", "customer123"));
+        verifiedCredentialCache.evict("customer");
+        cachingAuthenticationProvider.authenticate(request("customer", "customer123"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private Authentication request(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    private Authentication verified(UserDetails userDetails) {
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+    }
+}
@@ -0,0 +1,134 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallmentPayment;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallmentPaymentId;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentPaymentRepository;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.CompactInstallmentStore;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.Installment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompactInstallmentStoreTest {
+
+    private static final ZonedDateTime FIRST_DUE_DATE = ZonedDateTime.of(2024, 2, 1, 10, 0, 0, 0, ZoneId.systemDefault());
+    private static final BigDecimal INSTALLMENT_AMOUNT = new BigDecimal("200.00");
+
+    @Mock
+    private LoanInstallmentPaymentRepository paymentRepository;
+
+    private CompactInstallmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new CompactInstallmentStore(paymentRepository);
+    }
+
+    @Test
+    void findUnpaid_ShouldSkipPaidInstallmentsAndStopAfterMaxDueDate() {
+        Loan loan = loan(0b101L);
+
+        List<Installment> unpaid = store.findUnpaid(loan, FIRST_DUE_DATE.plusMonths(3));
+
+        assertThat(unpaid).extracting(Installment::getNumber).containsExactly(2, 4);
+        assertThat(unpaid).extracting(Installment::getDueDate)
+            .containsExactly(FIRST_DUE_DATE.plusMonths(1), FIRST_DUE_DATE.plusMonths(3));
+        assertThat(unpaid).allMatch(installment -> installment.getAmount().equals(INSTALLMENT_AMOUNT));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markPaid_ShouldSetBitsAndStoreOnePaymentPerInstallment() {
+        Loan loan = loan(0b1L);
+        ZonedDateTime paymentDate = FIRST_DUE_DATE.plusMonths(1);
+        List<Installment> paid = List.of(
+            Installment.builder().number(2).paidAmount(new BigDecimal("200.00")).paymentDate(paymentDate).build(),
+            Installment.builder().number(3).paidAmount(new BigDecimal("194.00")).paymentDate(paymentDate).build());
+
+        store.markPaid(loan, paid);
+
+        assertThat(loan.getPaidInstallmentMask()).isEqualTo(0b111L);
+        ArgumentCaptor<List<LoanInstallmentPayment>> payments = ArgumentCaptor.forClass(List.class);
+        verify(paymentRepository).saveAll(payments.capture());
+        assertThat(payments.getValue()).extracting(LoanInstallmentPayment::getId)
+            .containsExactly(new LoanInstallmentPaymentId(1L, 2), new LoanInstallmentPaymentId(1L, 3));
+        assertThat(payments.getValue()).allMatch(LoanInstallmentPayment::isNew);
+    }
+
+    @Test
+    void findInstallments_ShouldDeriveScheduleAndMergePayments() {
+        ZonedDateTime paymentDate = FIRST_DUE_DATE.minusDays(5);
+        when(paymentRepository.findByIdLoanId(1L)).thenReturn(List.of(LoanInstallmentPayment.builder()
+            .id(new LoanInstallmentPaymentId(1L, 1))
+            .paidAmount(new BigDecimal("199.00"))
+            .paymentDate(paymentDate)
+            .build()));
+
+        List<LoanInstallmentView> installments = store.findInstallments(schedule(0b1L));
+
+        assertThat(installments).hasSize(6);
+        assertThat(installments.get(0).isPaid()).isTrue();
+        assertThat(installments.get(0).getPaidAmount()).isEqualByComparingTo("199.00");
+        assertThat(installments.get(0).getPaymentDate()).isEqualTo(paymentDate);
+        assertThat(installments.subList(1, 6)).noneMatch(LoanInstallmentView::isPaid);
+        assertThat(installments.get(5).getDueDate()).isEqualTo(FIRST_DUE_DATE.plusMonths(5));
+        assertThat(installments).allMatch(installment -> installment.getId() == null && installment.getCustomerId() == 2L);
+    }
+
+    @Test
+    void findInstallments_WithoutPayments_ShouldNotQueryPayments() {
+        List<LoanInstallmentView> installments = store.findInstallments(schedule(0L));
+
+        assertThat(installments).hasSize(6).noneMatch(LoanInstallmentView::isPaid);
+        verify(paymentRepository, never()).findByIdLoanId(any());
+    }
+
+    @Test
+    void exportRows_ShouldExpandLoanRowIntoFullSchedule() {
+        LoanExportRow payment = new LoanExportRow(1L, 2L, new BigDecimal("1000"), new BigDecimal("0.2"), 6, FIRST_DUE_DATE.minusMonths(1),
+            false, ScheduleStorage.COMPACT, INSTALLMENT_AMOUNT, FIRST_DUE_DATE, null, 2, null, new BigDecimal("200.00"), null,
+            FIRST_DUE_DATE.plusMonths(1), true);
+
+        List<LoanExportRow> rows = store.exportRows(List.of(payment));
+
+        assertThat(rows).extracting(LoanExportRow::getInstallmentNumber).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(rows).extracting(LoanExportRow::isInstallmentPaid).containsExactly(false, true, false, false, false, false);
+        assertThat(rows.get(1).getPaymentDate()).isEqualTo(FIRST_DUE_DATE.plusMonths(1));
+        assertThat(rows).allMatch(row -> row.getAmount().equals(INSTALLMENT_AMOUNT));
+    }
+
+    private Loan loan(long paidInstallmentMask) {
+        return Loan.builder()
+            .id(1L)
+            .numberOfInstallment(6)
+            .scheduleStorage(ScheduleStorage.COMPACT)
+            .installmentAmount(INSTALLMENT_AMOUNT)
+            .firstDueDate(FIRST_DUE_DATE)
+            .paidInstallmentMask(paidInstallmentMask)
+            .build();
+    }
+
+    private LoanSchedule schedule(long paidInstallmentMask) {
+        return new LoanSchedule(1L, 2L, ScheduleStorage.COMPACT, 6, INSTALLMENT_AMOUNT, FIRST_DUE_DATE, paidInstallmentMask);
+    }
+}
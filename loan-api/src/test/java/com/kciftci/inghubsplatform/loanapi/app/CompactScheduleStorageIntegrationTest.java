@@ -0,0 +1,133 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentStores;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Creates loans through the port with {@code loan.schedule.storage=COMPACT}, so the schedules are
+ * written by {@code CompactInstallmentStore.createSchedules}, and checks that their export matches
+ * the same loans stored as rows.
+ */
+@SpringBootTest(properties = "loan.schedule.storage=COMPACT")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CompactScheduleStorageIntegrationTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.COMPACT_SCHEDULE_STORAGE;
+    private static final RequestPostProcessor ADMIN = httpBasic("admin", "admin123");
+
+    @Autowired
+    private LoanAdapter loanAdapter;
+
+    @MockitoSpyBean
+    private InstallmentStores installmentStores;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("100000"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+    }
+
+    @Test
+    void exportLoans_CompactSchedules_ShouldMatchRowSchedules() throws Exception {
+        createLoans();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan WHERE customer_id = ? AND schedule_storage = 'COMPACT'", Integer.class, CUSTOMER_ID))
+            .isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan_installment li JOIN loan l ON l.id = li.loan_id WHERE l.customer_id = ?", Integer.class, CUSTOMER_ID))
+            .isZero();
+
+        doReturn(installmentStores.of(ScheduleStorage.ROWS)).when(installmentStores).defaultStore();
+        createLoans();
+
+        // the export is ordered by creation, so the compact loans come first
+        List<JsonNode> loans = exportLoans();
+        assertThat(loans).hasSize(6);
+        List<JsonNode> compact = loans.subList(0, 3);
+        List<JsonNode> rows = loans.subList(3, 6);
+
+        assertThat(rows).allSatisfy(loan -> assertThat(loan.get("installments")).allMatch(installment -> installment.hasNonNull("id")));
+        assertThat(compact).allSatisfy(loan -> assertThat(loan.get("installments")).noneMatch(installment -> installment.hasNonNull("id")));
+        assertThat(compact.stream().map(this::withoutIdentity).toList())
+            .containsExactlyElementsOf(rows.stream().map(this::withoutIdentity).toList());
+    }
+
+    private void createLoans() {
+        loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 6);
+        loanAdapter.createLoans(List.of(
+            new LoanApplication(CUSTOMER_ID, new BigDecimal("2400"), new BigDecimal("0.1"), 12),
+            new LoanApplication(CUSTOMER_ID, new BigDecimal("999.99"), new BigDecimal("0.3"), 9)));
+    }
+
+    private List<JsonNode> exportLoans() throws Exception {
+        MvcResult started = mockMvc.perform(get("/loan/export").with(ADMIN).param("customerId", String.valueOf(CUSTOMER_ID)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        List<JsonNode> loans = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            loans.add(objectMapper.readTree(line));
+        }
+        return loans;
+    }
+
+    /**
+     * Drops the generated ids and creation times, which differ between the two copies of a loan. Due
+     * dates keep the time of day of creation, so only their day is compared.
+     */
+    private JsonNode withoutIdentity(JsonNode loan) {
+        ObjectNode copy = loan.deepCopy();
+        copy.remove(List.of("id", "createdAt"));
+        copy.get("installments").forEach(installment -> {
+            ObjectNode fields = (ObjectNode) installment;
+            fields.remove(List.of("id", "loanId"));
+            fields.put("dueDate", fields.get("dueDate").asText().substring(0, "yyyy-MM-dd".length()));
+        });
+        return copy;
+    }
+}
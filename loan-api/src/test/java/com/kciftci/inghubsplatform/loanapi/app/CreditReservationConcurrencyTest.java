@@ -0,0 +1,135 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CreditReservationConcurrencyTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.CREDIT_RESERVATION;
+    private static final int THREADS = 32;
+    private static final int REQUESTS = 2000;
+    private static final int AFFORDABLE_LOANS = 1000;
+    private static final BigDecimal LOAN_TOTAL = new BigDecimal("120");
+    private static final int PAID_OFF_LOANS = 500;
+
+    @Autowired
+    private LoanAdapter loanAdapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, LOAN_TOTAL.multiply(BigDecimal.valueOf(AFFORDABLE_LOANS)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+    }
+
+    @Test
+    void createLoan_ConcurrentRequests_ShouldNeverOverdrawCreditLimit() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 6);
+                    created.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    assertThat(e).hasMessage("Customer does not have enough credit limit");
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        BigDecimal usedCreditLimit = jdbcTemplate.queryForObject(
+            "SELECT used_credit_limit FROM customer WHERE id = ?", BigDecimal.class, CUSTOMER_ID);
+        Integer loanCount = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan WHERE customer_id = ?", Integer.class, CUSTOMER_ID);
+        Integer installmentCount = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan_installment li JOIN loan l ON l.id = li.loan_id WHERE l.customer_id = ?",
+            Integer.class, CUSTOMER_ID);
+
+        assertThat(created.get()).isEqualTo(AFFORDABLE_LOANS);
+        assertThat(rejected.get()).isEqualTo(REQUESTS - AFFORDABLE_LOANS);
+        assertThat(loanCount).isEqualTo(AFFORDABLE_LOANS);
+        assertThat(installmentCount).isEqualTo(AFFORDABLE_LOANS * 6);
+        assertThat(usedCreditLimit).isEqualByComparingTo(LOAN_TOTAL.multiply(BigDecimal.valueOf(AFFORDABLE_LOANS)));
+    }
+
+    @Test
+    void payLoan_PayingOffWhileCreatingLoans_ShouldKeepEveryCreditChange() throws Exception {
+        List<Long> loanIds = new ArrayList<>();
+        for (int i = 0; i < PAID_OFF_LOANS; i++) {
+            loanIds.add(loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 1).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long loanId : loanIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                PayLoan payment = loanAdapter.payLoan(loanId, LOAN_TOTAL, ZonedDateTime.now());
+                assertThat(payment.isLoanFullyPaid()).isTrue();
+                return null;
+            }));
+            futures.add(executor.submit(() -> {
+                start.await();
+                return loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 1);
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        BigDecimal usedCreditLimit = jdbcTemplate.queryForObject(
+            "SELECT used_credit_limit FROM customer WHERE id = ?", BigDecimal.class, CUSTOMER_ID);
+        Integer unpaidLoans = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan WHERE customer_id = ? AND is_paid = FALSE", Integer.class, CUSTOMER_ID);
+
+        // every release and every reservation lands, so only the new loans remain reserved
+        assertThat(unpaidLoans).isEqualTo(PAID_OFF_LOANS);
+        assertThat(usedCreditLimit).isEqualByComparingTo(LOAN_TOTAL.multiply(BigDecimal.valueOf(PAID_OFF_LOANS)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.exposure.CustomerExposureStore;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CustomerExposureIntegrationTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.CUSTOMER_EXPOSURE;
+
+    @Autowired
+    private LoanPort loanPort;
+
+    @Autowired
+    private CustomerExposureStore customerExposures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("100000"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+    }
+
+    @Test
+    void exposure_ShouldFollowCreatedAndPaidLoans() {
+        Loan loan = loanPort.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 12);
+        loanPort.createLoans(List.of(application(6), application(6)));
+        loanPort.payLoan(loan.getId(), new BigDecimal("250"), ZonedDateTime.now());
+
+        // the first of next month, as the loan's schedule shows it
+        LocalDate firstDueDay = loan.getFirstDueDate().toLocalDate();
+        CustomerExposureSummary exposure = customerExposures.find(CUSTOMER_ID, LocalDate.now()).orElseThrow();
+
+        // 1200 for each loan, minus the two installments of 100 paid early
+        assertThat(exposure.getOutstandingAmount()).isEqualByComparingTo("3400");
+        assertThat(exposure.getPaidAmount()).isEqualByComparingTo(paidToDate());
+        assertThat(exposure.getNextDueDate()).isEqualTo(firstDueDay);
+        assertThat(exposure.getOverdueInstallments()).isZero();
+    }
+
+    @Test
+    void exposure_ShouldCountInstallmentsDueBeforeToday() {
+        Loan loan = loanPort.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 12);
+        loanPort.createLoans(List.of(application(6), application(6)));
+        loanPort.payLoan(loan.getId(), new BigDecimal("250"), ZonedDateTime.now());
+
+        LocalDate today = loan.getFirstDueDate().plusMonths(3).toLocalDate().plusDays(1);
+        CustomerExposureSummary exposure = customerExposures.find(CUSTOMER_ID, today).orElseThrow();
+
+        // the first four months of each loan are due, of which the first loan has paid two
+        assertThat(exposure.getOverdueInstallments()).isEqualTo(10);
+        assertThat(exposure.getNextDueDate()).isEqualTo(loan.getFirstDueDate().plusMonths(4).toLocalDate());
+    }
+
+    @Test
+    void exposure_AfterLoanIsFullyPaid_ShouldDropItsDueDays() {
+        Loan loan = loanPort.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 6);
+
+        // four months out, every installment falls within the three-month payment window
+        loanPort.payLoan(loan.getId(), new BigDecimal("1000"), ZonedDateTime.now().plusMonths(4));
+
+        CustomerExposureSummary exposure = customerExposures.find(CUSTOMER_ID, LocalDate.now()).orElseThrow();
+        assertThat(exposure.getOutstandingAmount()).isEqualByComparingTo("0");
+        assertThat(exposure.getPaidAmount()).isEqualByComparingTo(paidToDate());
+        assertThat(exposure.getNextDueDate()).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_exposure_due WHERE customer_id = ?",
+            Integer.class, CUSTOMER_ID)).isZero();
+    }
+
+    @Test
+    void getCustomerExposure_ShouldReturnExposure() throws Exception {
+        loanPort.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 12);
+
+        mockMvc.perform(get("/loan/exposure").with(httpBasic("admin", "admin123")).param("customerId", String.valueOf(CUSTOMER_ID)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.customerId").value(CUSTOMER_ID))
+            .andExpect(jsonPath("$.outstandingAmount").value(1200.0))
+            .andExpect(jsonPath("$.paidAmount").value(0.0))
+            .andExpect(jsonPath("$.nextDueDate").isString())
+            .andExpect(jsonPath("$.overdueInstallments").value(0));
+    }
+
+    @Test
+    void getCustomerExposure_WithUnknownCustomer_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/loan/exposure").with(httpBasic("admin", "admin123")).param("customerId", "999999"))
+            .andExpect(status().isNotFound());
+    }
+
+    private BigDecimal paidToDate() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(li.paid_amount), 0) FROM loan_installment li " +
+            "JOIN loan l ON l.id = li.loan_id WHERE l.customer_id = ? AND li.is_paid", BigDecimal.class, CUSTOMER_ID);
+    }
+
+    private static LoanApplication application(int numberOfInstallments) {
+        return LoanApplication.builder()
+            .customerId(CUSTOMER_ID)
+            .amount(new BigDecimal("1000"))
+            .interest(new BigDecimal("0.2"))
+            .numberOfInstallments(numberOfInstallments)
+            .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposure;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposureDue;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposureDueId;
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.exposure.CustomerExposureStore;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerExposureDueRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerExposureRepository;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.Installment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs in a zone ahead of UTC, where a loan created shortly after midnight has due dates that fall
+ * on the previous day in UTC.
+ */
+@ExtendWith(MockitoExtension.class)
+class CustomerExposureStoreTest {
+
+    private static final ZoneId SERVER_ZONE = ZoneId.of("Europe/Istanbul");
+    private static final Long CUSTOMER_ID = 1L;
+
+    @Mock
+    private CustomerExposureRepository exposureRepository;
+
+    @Mock
+    private CustomerExposureDueRepository dueRepository;
+
+    private CustomerExposureStore store;
+    private TimeZone defaultTimeZone;
+
+    @BeforeEach
+    void setUp() {
+        defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(SERVER_ZONE));
+        store = new CustomerExposureStore(exposureRepository, dueRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loansCreated_ShouldCountDueDaysInServerZone() {
+        when(exposureRepository.findAllByIdForUpdate(any())).thenReturn(List.of());
+        when(dueRepository.findAllByCustomerIdsAndDueDays(any(), any())).thenReturn(List.of());
+
+        store.loansCreated(List.of(loan(ZonedDateTime.of(2024, 2, 1, 0, 30, 0, 0, SERVER_ZONE), 3)));
+
+        ArgumentCaptor<List<CustomerExposureDue>> saved = ArgumentCaptor.forClass(List.class);
+        verify(dueRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(due -> due.getId().getDueDay())
+            .containsExactlyInAnyOrder(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1));
+    }
+
+    @Test
+    void installmentsPaid_ShouldReleaseTheServerZoneDueDay() {
+        ZonedDateTime dueDate = ZonedDateTime.of(2024, 2, 1, 0, 30, 0, 0, SERVER_ZONE);
+        CustomerExposureDue due = CustomerExposureDue.builder()
+            .id(new CustomerExposureDueId(CUSTOMER_ID, LocalDate.of(2024, 2, 1)))
+            .unpaidInstallments(2)
+            .build();
+        when(exposureRepository.findAllByIdForUpdate(List.of(CUSTOMER_ID))).thenReturn(List.of(CustomerExposure.builder()
+            .customerId(CUSTOMER_ID)
+            .outstandingAmount(new BigDecimal("300.00"))
+            .paidAmount(BigDecimal.ZERO)
+            .build()));
+        when(dueRepository.findAllByCustomerIdsAndDueDays(List.of(CUSTOMER_ID), Set.of(LocalDate.of(2024, 2, 1))))
+            .thenReturn(List.of(due));
+
+        store.installmentsPaid(loan(dueDate, 3), List.of(Installment.builder()
+            .number(1)
+            .amount(new BigDecimal("100.00"))
+            .dueDate(dueDate)
+            .paidAmount(new BigDecimal("100.00"))
+            .build()));
+
+        assertThat(due.getUnpaidInstallments()).isEqualTo(1);
+    }
+
+    private static Loan loan(ZonedDateTime firstDueDate, int numberOfInstallments) {
+        return Loan.builder()
+            .id(10L)
+            .customer(Customer.builder().id(CUSTOMER_ID).build())
+            .numberOfInstallment(numberOfInstallments)
+            .installmentAmount(new BigDecimal("100.00"))
+            .firstDueDate(firstDueDate)
+            .build();
+    }
+}
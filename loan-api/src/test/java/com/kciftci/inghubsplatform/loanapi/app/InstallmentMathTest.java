@@ -0,0 +1,70 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentMath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstallmentMathTest {
+
+    private static final ZonedDateTime DUE_DATE = ZonedDateTime.of(2024, 3, 1, 10, 30, 0, 0, ZoneId.of("Europe/Istanbul"));
+    private static final List<ZoneId> ZONES = List.of(ZoneOffset.UTC, ZoneId.of("Europe/Istanbul"), ZoneId.of("Europe/Amsterdam"),
+        ZoneId.of("America/New_York"));
+
+    @Test
+    void finalAmount_ShouldMatchBigDecimalRulesIncludingScale() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(10_000_000), random.nextInt(4));
+            ZonedDateTime dueDate = DUE_DATE.plusSeconds(random.nextInt(400 * 86_400)).withNano(random.nextInt(1_000_000) * 1_000);
+            ZonedDateTime paymentDate = dueDate
+                .plusSeconds(random.nextInt(200 * 86_400) - 100 * 86_400)
+                .withNano(random.nextInt(1_000_000) * 1_000)
+                .withZoneSameInstant(ZONES.get(random.nextInt(ZONES.size())));
+
+            assertThat(InstallmentMath.finalAmount(amount, dueDate, paymentDate))
+                .isEqualTo(reference(amount, dueDate, paymentDate));
+        }
+    }
+
+    @Test
+    void finalAmount_AtDayBoundaries_ShouldCountWholeElapsedDays() {
+        BigDecimal amount = new BigDecimal("200.00");
+
+        assertThat(InstallmentMath.finalAmount(amount, DUE_DATE, DUE_DATE)).isSameAs(amount);
+        assertThat(InstallmentMath.finalAmount(amount, DUE_DATE, DUE_DATE.minusDays(1).plusNanos(1))).isEqualTo("200.00000");
+        assertThat(InstallmentMath.finalAmount(amount, DUE_DATE, DUE_DATE.minusDays(1))).isEqualTo("199.80000");
+        assertThat(InstallmentMath.finalAmount(amount, DUE_DATE, DUE_DATE.plusDays(5).minusNanos(1))).isEqualTo("200.80000");
+        assertThat(InstallmentMath.finalAmount(amount, DUE_DATE, DUE_DATE.plusDays(5))).isEqualTo("201.00000");
+    }
+
+    @Test
+    void wholeDaysBetween_ShouldMatchDuration() {
+        ZonedDateTime from = DUE_DATE.withNano(700_000_000);
+        ZonedDateTime to = from.plusDays(3).withNano(200_000_000);
+
+        assertThat(InstallmentMath.wholeDaysBetween(from.toEpochSecond(), from.getNano(), to.toEpochSecond(), to.getNano()))
+            .isEqualTo(Duration.between(from, to).toDays())
+            .isEqualTo(2);
+    }
+
+    private static BigDecimal reference(BigDecimal baseAmount, ZonedDateTime dueDate, ZonedDateTime paymentDate) {
+        if (paymentDate.isBefore(dueDate)) {
+            long daysBeforeDue = Duration.between(paymentDate, dueDate).toDays();
+            return baseAmount.subtract(baseAmount.multiply(BigDecimal.valueOf(0.001)).multiply(BigDecimal.valueOf(daysBeforeDue)));
+        } else if (paymentDate.isAfter(dueDate)) {
+            long daysAfterDue = Duration.between(dueDate, paymentDate).toDays();
+            return baseAmount.add(baseAmount.multiply(BigDecimal.valueOf(0.001)).multiply(BigDecimal.valueOf(daysAfterDue)));
+        } else {
+            return baseAmount;
+        }
+    }
+}
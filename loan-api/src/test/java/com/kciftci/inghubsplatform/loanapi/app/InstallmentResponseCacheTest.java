@@ -0,0 +1,140 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanCreatedEvent;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanPaidEvent;
+import com.kciftci.inghubsplatform.loanapi.app.rest.InstallmentResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstallmentResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstallmentResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InstallmentResponseCache(meterRegistry, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeLaterRequestsFromCache() {
+        assertThat(get(1L, "[1]")).isEqualTo("[1]");
+        assertThat(get(1L, "[2]")).isEqualTo("[1]");
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "loanInstallments").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("loan.installment.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void onLoanPaid_ShouldEvictOnlyThatLoan() {
+        get(1L, "[1]");
+        get(2L, "[2]");
+
+        cache.onLoanPaid(new LoanPaidEvent(1L));
+
+        assertThat(get(1L, "[1, paid]")).isEqualTo("[1, paid]");
+        assertThat(get(2L, "[2, paid]")).isEqualTo("[2]");
+    }
+
+    @Test
+    void onLoanCreated_ShouldEvictThatLoan() {
+        get(1L, "[]");
+
+        cache.onLoanCreated(new LoanCreatedEvent(1L, 7L));
+
+        assertThat(get(1L, "[1]")).isEqualTo("[1]");
+    }
+
+    @Test
+    void get_WhenLoadFails_ShouldNotCacheFailure() {
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(get(1L, "[1]")).isEqualTo("[1]");
+    }
+
+    @Test
+    void get_WhenEvictedDuringLoad_ShouldNotCacheStaleResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<byte[]> stale = executor.submit(() -> cache.get(1L, () -> {
+                loading.countDown();
+                await(evicted);
+                return bytes("[unpaid]");
+            }));
+            loading.await();
+            cache.onLoanPaid(new LoanPaidEvent(1L));
+            evicted.countDown();
+
+            assertThat(new String(stale.get(), StandardCharsets.UTF_8)).isEqualTo("[unpaid]");
+            assertThat(get(1L, "[paid]")).isEqualTo("[paid]");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShouldShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<byte[]> first = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return bytes("[1]");
+            }));
+            loading.await();
+
+            Future<byte[]> second = executor.submit(() -> cache.get(1L, () -> bytes("[2]")));
+            release.countDown();
+
+            assertThat(new String(first.get(), StandardCharsets.UTF_8)).isEqualTo("[1]");
+            assertThat(new String(second.get(), StandardCharsets.UTF_8)).isEqualTo("[1]");
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String get(long loanId, String installments) {
+        return new String(cache.get(loanId, () -> {
+            loads.incrementAndGet();
+            return bytes(installments);
+        }), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
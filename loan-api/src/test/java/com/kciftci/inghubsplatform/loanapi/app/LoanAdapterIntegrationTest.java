@@ -0,0 +1,95 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoanAdapterIntegrationTest {
+
+    private static final Long CUSTOMER_ID = 2L;
+
+    @Autowired
+    private LoanAdapter loanAdapter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // warm up the pooled sequence optimizers so the measured call does not include the initial allocation
+        loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 24);
+        statistics.clear();
+    }
+
+    @Test
+    void createLoan_ShouldBatchInstallmentInserts() {
+        Loan loan = loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 24);
+
+        assertThat(loan.getId()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(25);
+        // customer lock, credit update, loan insert, one batched installment insert and at most one sequence call,
+        // plus the exposure lock, the due-day read, the exposure update and a batched update and insert of due days
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void payLoan_ShouldUpdateInstallmentsInOneBatch() {
+        Loan loan = loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 6);
+        statistics.clear();
+
+        PayLoan result = loanAdapter.payLoan(loan.getId(), new BigDecimal("1000"), ZonedDateTime.now());
+
+        assertThat(result.getInstallmentsPaid()).isGreaterThanOrEqualTo(2);
+        // installments and loan, plus the exposure and one due day per installment, all shared with the setUp loan
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2L * result.getInstallmentsPaid() + 2);
+        // locking loan read, customer read, unpaid installment read, one batched installment update and the loan update,
+        // plus the exposure lock, the due-day read and one update per exposure table
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(9);
+    }
+
+    @Test
+    void createLoans_ShouldReserveCreditOnceAndBatchInserts() {
+        List<LoanApplication> applications = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            applications.add(LoanApplication.builder()
+                .customerId(CUSTOMER_ID)
+                .amount(new BigDecimal("100"))
+                .interest(new BigDecimal("0.2"))
+                .numberOfInstallments(6)
+                .build());
+        }
+
+        List<LoanCreationResult> results = loanAdapter.createLoans(applications);
+
+        assertThat(results).allMatch(LoanCreationResult::isCreated);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(70);
+        // the customer, the exposure and the six due days the setUp loan already counts
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(8);
+        // customer lock, one customer update, one batched statement per table and at most one call per sequence,
+        // plus the exposure lock, the due-day read and one update per exposure table
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+}
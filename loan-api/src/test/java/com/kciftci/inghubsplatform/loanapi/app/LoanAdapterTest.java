@@ -3,27 +3,52 @@ package com.kciftci.inghubsplatform.loanapi.app;
 import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
 import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
 import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanCreatedEvent;
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanPaidEvent;
 import com.kciftci.inghubsplatform.loanapi.app.exception.CustomerNotFoundException;
+import com.kciftci.inghubsplatform.loanapi.app.exposure.CustomerExposureStore;
+import com.kciftci.inghubsplatform.loanapi.app.model.CustomerExposureSummary;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanExportRow;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSchedule;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanSlice;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
 import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
 import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentPaymentRepository;
 import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentRepository;
 import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.CompactInstallmentStore;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentStores;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.RowInstallmentStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,13 +63,30 @@ class LoanAdapterTest {
     @Mock
     private LoanInstallmentRepository loanInstallmentRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private LoanInstallmentPaymentRepository loanInstallmentPaymentRepository;
+
+    @Mock
+    private CustomerExposureStore customerExposures;
+
     private LoanAdapter loanAdapter;
 
     private Customer testCustomer;
 
     @BeforeEach
     void setUp() {
+        InstallmentStores installmentStores = new InstallmentStores(List.of(
+                new RowInstallmentStore(loanInstallmentRepository),
+                new CompactInstallmentStore(loanInstallmentPaymentRepository)), ScheduleStorage.ROWS);
+        loanAdapter = new LoanAdapter(loanRepository, customerRepository, loanInstallmentRepository, installmentStores,
+                customerExposures, eventPublisher, entityManager);
+
         testCustomer = Customer.builder()
                 .id(1L)
                 .name("Kubilay")
@@ -61,9 +103,8 @@ class LoanAdapterTest {
         BigDecimal interest = new BigDecimal("0.2");
         int numberOfInstallments = 12;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.findByIdForUpdate(customerId)).thenReturn(Optional.of(testCustomer));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
 
         Loan result = loanAdapter.createLoan(customerId, amount, interest, numberOfInstallments);
 
@@ -73,6 +114,9 @@ class LoanAdapterTest {
         assertThat(result.getInterest()).isEqualTo(interest);
         assertThat(result.getNumberOfInstallment()).isEqualTo(numberOfInstallments);
         assertThat(result.isPaid()).isFalse();
+        assertThat(testCustomer.getUsedCreditLimit()).isEqualByComparingTo("1200");
+        verify(customerExposures).loansCreated(List.of(result));
+        verify(eventPublisher).publishEvent(new LoanCreatedEvent(1L, customerId));
     }
 
     @Test
@@ -82,7 +126,7 @@ class LoanAdapterTest {
         BigDecimal interest = new BigDecimal("0.2");
         int numberOfInstallments = 12;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.findByIdForUpdate(customerId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> loanAdapter.createLoan(customerId, amount, interest, numberOfInstallments))
                 .isInstanceOf(CustomerNotFoundException.class)
@@ -96,11 +140,12 @@ class LoanAdapterTest {
         BigDecimal interest = new BigDecimal("0.2");
         int numberOfInstallments = 12;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.findByIdForUpdate(customerId)).thenReturn(Optional.of(testCustomer));
 
         assertThatThrownBy(() -> loanAdapter.createLoan(customerId, amount, interest, numberOfInstallments))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Customer does not have enough credit limit");
+        assertThat(testCustomer.getUsedCreditLimit()).isEqualByComparingTo("0");
     }
 
     @Test
@@ -110,10 +155,9 @@ class LoanAdapterTest {
         BigDecimal interest = new BigDecimal("0.2");
         int numberOfInstallments = 12;
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(testCustomer));
-        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(customerRepository.findByIdForUpdate(customerId)).thenReturn(Optional.of(testCustomer));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
         when(loanInstallmentRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
         Loan result = loanAdapter.createLoan(customerId, amount, interest, numberOfInstallments);
 
@@ -121,6 +165,41 @@ class LoanAdapterTest {
         verify(loanInstallmentRepository).saveAll(any(List.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createLoans_ShouldReserveCreditPerCustomerInRequestOrder() {
+        List<LoanApplication> applications = List.of(
+                application(1L, "5000"),
+                application(1L, "4000"),
+                application(1L, "3000"),
+                application(99L, "1000"));
+
+        when(customerRepository.findAllByIdForUpdate(any())).thenReturn(List.of(testCustomer));
+        when(loanRepository.saveAll(any(List.class))).thenAnswer(invocation -> {
+            List<Loan> loans = invocation.getArgument(0);
+            for (int i = 0; i < loans.size(); i++) {
+                withId(loans.get(i), i + 1L);
+            }
+            return loans;
+        });
+
+        List<LoanCreationResult> results = loanAdapter.createLoans(applications);
+
+        assertThat(results).extracting(LoanCreationResult::isCreated).containsExactly(true, false, true, false);
+        assertThat(results.get(1).getError()).isEqualTo("Customer does not have enough credit limit");
+        assertThat(results.get(3).getError()).isEqualTo("Customer not found with this customerId: 99");
+        assertThat(testCustomer.getUsedCreditLimit()).isEqualByComparingTo("9600");
+
+        ArgumentCaptor<List<LoanInstallment>> installments = ArgumentCaptor.forClass(List.class);
+        verify(loanInstallmentRepository).saveAll(installments.capture());
+        assertThat(installments.getValue()).hasSize(24);
+        verify(customerRepository, never()).findByIdForUpdate(any());
+        verify(customerExposures).loansCreated(argThat(loans -> loans.size() == 2));
+        verify(entityManager).flush();
+        verify(eventPublisher).publishEvent(new LoanCreatedEvent(1L, 1L));
+        verify(eventPublisher).publishEvent(new LoanCreatedEvent(2L, 1L));
+    }
+
     @Test
     void payLoan_SuccessfulPayment() {
         Long loanId = 1L;
@@ -158,11 +237,9 @@ class LoanAdapterTest {
             installments.add(installment);
         }
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
         when(loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(any(), any()))
                 .thenReturn(installments.subList(0, 2));
-        when(loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId)).thenReturn(installments);
-        when(loanInstallmentRepository.save(any(LoanInstallment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PayLoan result = loanAdapter.payLoan(loanId, paymentAmount, paymentDate);
 
@@ -170,6 +247,12 @@ class LoanAdapterTest {
         assertThat(result.getLoanId()).isEqualTo(loanId);
         assertThat(result.getInstallmentsPaid()).isEqualTo(2);
         assertThat(result.isLoanFullyPaid()).isFalse();
+        assertThat(loan.getPaidInstallmentCount()).isEqualTo(2);
+        assertThat(installments.subList(0, 2)).allMatch(LoanInstallment::isPaid);
+        verify(loanInstallmentRepository, never()).save(any(LoanInstallment.class));
+        verify(loanInstallmentRepository, never()).findViewsByLoanId(any());
+        verify(customerExposures).installmentsPaid(eq(loan), argThat(paid -> paid.size() == 2));
+        verify(eventPublisher).publishEvent(new LoanPaidEvent(loanId));
     }
 
     @Test
@@ -209,7 +292,7 @@ class LoanAdapterTest {
             installments.add(installment);
         }
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
         when(loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(any(), any()))
                 .thenReturn(installments.subList(0, 1));
 
@@ -255,7 +338,7 @@ class LoanAdapterTest {
             installments.add(installment);
         }
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
         when(loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(any(), any()))
                 .thenReturn(new ArrayList<>());
 
@@ -275,7 +358,7 @@ class LoanAdapterTest {
                 .name("Test")
                 .surname("User")
                 .creditLimit(new BigDecimal("10000"))
-                .usedCreditLimit(new BigDecimal("200"))
+                .usedCreditLimit(new BigDecimal("240"))
                 .build();
 
         Loan loan = Loan.builder()
@@ -299,17 +382,19 @@ class LoanAdapterTest {
                 .build();
         installments.add(installment);
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
         when(loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(any(), any()))
                 .thenReturn(installments);
-        when(loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId)).thenReturn(installments);
-        when(loanInstallmentRepository.save(any(LoanInstallment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PayLoan result = loanAdapter.payLoan(loanId, paymentAmount, paymentDate);
 
         assertThat(result).isNotNull();
         assertThat(result.isLoanFullyPaid()).isTrue();
         assertThat(result.getInstallmentsPaid()).isEqualTo(1);
+        assertThat(loan.isPaid()).isTrue();
+        assertThat(loan.getPaidInstallmentCount()).isEqualTo(1);
+        assertThat(customer.getUsedCreditLimit()).isEqualByComparingTo("0");
+        verify(entityManager).refresh(customer, LockModeType.PESSIMISTIC_WRITE);
     }
 
     @Test
@@ -347,11 +432,9 @@ class LoanAdapterTest {
                 .build();
         earlyInstallments.add(earlyInstallment);
 
-        when(loanRepository.findById(loanId)).thenReturn(Optional.of(loan));
+        when(loanRepository.findByIdForUpdate(loanId)).thenReturn(Optional.of(loan));
         when(loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(any(), any()))
                 .thenReturn(earlyInstallments);
-        when(loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId)).thenReturn(earlyInstallments);
-        when(loanInstallmentRepository.save(any(LoanInstallment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         PayLoan earlyResult = loanAdapter.payLoan(loanId, paymentAmount, paymentDate);
 
@@ -372,7 +455,6 @@ class LoanAdapterTest {
 
         when(loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(any(), any()))
                 .thenReturn(lateInstallments);
-        when(loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId)).thenReturn(lateInstallments);
 
         PayLoan lateResult = loanAdapter.payLoan(loanId, paymentAmount, paymentDate);
 
@@ -387,10 +469,10 @@ class LoanAdapterTest {
         Integer numberOfInstallments = 12;
         Boolean isPaid = false;
 
-        List<Loan> expectedLoans = new ArrayList<>();
-        expectedLoans.add(Loan.builder()
+        List<LoanView> expectedLoans = new ArrayList<>();
+        expectedLoans.add(LoanView.builder()
                 .id(1L)
-                .customer(testCustomer)
+                .customerId(customerId)
                 .loanAmount(new BigDecimal("1000"))
                 .interest(new BigDecimal("0.2"))
                 .numberOfInstallment(12)
@@ -398,47 +480,158 @@ class LoanAdapterTest {
                 .isPaid(false)
                 .build());
 
-        when(loanRepository.findByCustomerIdAndFilters(customerId, numberOfInstallments, isPaid))
+        LoanFilter filter = LoanFilter.builder()
+                .customerId(customerId)
+                .numberOfInstallments(numberOfInstallments)
+                .isPaid(isPaid)
+                .build();
+
+        when(loanRepository.findPage(filter, null, 51))
                 .thenReturn(expectedLoans);
 
-        List<Loan> result = loanAdapter.listLoans(customerId, numberOfInstallments, isPaid);
+        LoanSlice result = loanAdapter.listLoans(filter, null, 50);
 
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getNumberOfInstallment()).isEqualTo(12);
-        assertThat(result.get(0).isPaid()).isFalse();
+        assertThat(result.getLoans()).hasSize(1);
+        assertThat(result.getLoans().get(0).getNumberOfInstallment()).isEqualTo(12);
+        assertThat(result.getLoans().get(0).isPaid()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void listLoans_MoreLoansThanPageSize_ShouldReturnNextCursor() {
+        Long customerId = 1L;
+        ZonedDateTime createdAt = ZonedDateTime.now();
+
+        List<LoanView> loans = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            loans.add(LoanView.builder()
+                    .id(id)
+                    .customerId(customerId)
+                    .loanAmount(new BigDecimal("1000"))
+                    .interest(new BigDecimal("0.2"))
+                    .numberOfInstallment(12)
+                    .createdAt(createdAt.plusSeconds(id))
+                    .build());
+        }
+        LoanCursor after = new LoanCursor(createdAt, 0L);
+
+        LoanFilter filter = LoanFilter.builder().customerId(customerId).build();
+
+        when(loanRepository.findPage(filter, after, 3))
+                .thenReturn(loans);
+
+        LoanSlice result = loanAdapter.listLoans(filter, after, 2);
+
+        assertThat(result.getLoans()).extracting(LoanView::getId).containsExactly(1L, 2L);
+        assertThat(result.getNextCursor()).isEqualTo(new LoanCursor(createdAt.plusSeconds(2), 2L));
+        assertThat(LoanCursor.decode(result.getNextCursor().encode()).getId()).isEqualTo(2L);
     }
 
     @Test
     void listLoanInstallments_ShouldReturnInstallments() {
         Long loanId = 1L;
-        
-        Loan loan = Loan.builder()
-                .id(loanId)
-                .customer(testCustomer)
-                .loanAmount(new BigDecimal("1000"))
-                .interest(new BigDecimal("0.2"))
-                .numberOfInstallment(12)
-                .createdAt(ZonedDateTime.now())
-                .isPaid(false)
-                .build();
-        
-        List<LoanInstallment> expectedInstallments = new ArrayList<>();
-        expectedInstallments.add(LoanInstallment.builder()
+
+        List<LoanInstallmentView> expectedInstallments = new ArrayList<>();
+        expectedInstallments.add(LoanInstallmentView.builder()
                 .id(1L)
-                .loan(loan)
+                .loanId(loanId)
+                .customerId(testCustomer.getId())
                 .amount(new BigDecimal("200"))
                 .paidAmount(BigDecimal.ZERO)
                 .dueDate(ZonedDateTime.now().plusMonths(1))
                 .isPaid(false)
                 .build());
 
-        when(loanInstallmentRepository.findByLoanIdOrderByDueDateAsc(loanId))
+        when(loanRepository.findScheduleById(loanId)).thenReturn(Optional.of(LoanSchedule.builder()
+                .loanId(loanId)
+                .customerId(testCustomer.getId())
+                .scheduleStorage(ScheduleStorage.ROWS)
+                .numberOfInstallment(1)
+                .build()));
+        when(loanInstallmentRepository.findViewsByLoanId(loanId))
                 .thenReturn(expectedInstallments);
 
-        List<LoanInstallment> result = loanAdapter.listLoanInstallments(loanId);
+        List<LoanInstallmentView> result = loanAdapter.listLoanInstallments(loanId);
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getAmount()).isEqualTo(new BigDecimal("200"));
+        assertThat(result.get(0).getLoanId()).isEqualTo(loanId);
+    }
+
+    @Test
+    void exportLoans_ShouldEmitOneBatchPerLoan() {
+        Long customerId = 1L;
+        ZonedDateTime now = ZonedDateTime.now();
+
+        when(loanInstallmentRepository.streamExportRowsByCustomerId(customerId)).thenReturn(Stream.of(
+                exportRow(1L, 10L, now.plusMonths(1)),
+                exportRow(1L, 11L, now.plusMonths(2)),
+                exportRow(2L, 20L, now.plusMonths(1))));
+
+        List<List<LoanExportRow>> exported = new ArrayList<>();
+        loanAdapter.exportLoans(customerId, exported::add);
+
+        assertThat(exported).hasSize(2);
+        assertThat(exported.get(0)).extracting(LoanExportRow::getInstallmentId).containsExactly(10L, 11L);
+        assertThat(exported.get(1)).extracting(LoanExportRow::getInstallmentId).containsExactly(20L);
+    }
+
+    @Test
+    void getCustomerExposure_ShouldReturnStoredExposure() {
+        CustomerExposureSummary exposure = CustomerExposureSummary.builder()
+                .customerId(1L)
+                .outstandingAmount(new BigDecimal("1000.00"))
+                .paidAmount(new BigDecimal("200.00"))
+                .nextDueDate(LocalDate.now().plusDays(10))
+                .overdueInstallments(1)
+                .build();
+        when(customerExposures.find(eq(1L), any(LocalDate.class))).thenReturn(Optional.of(exposure));
+
+        assertThat(loanAdapter.getCustomerExposure(1L)).isSameAs(exposure);
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getCustomerExposure_WithoutLoans_ShouldReturnZeroExposure() {
+        when(customerExposures.find(eq(1L), any(LocalDate.class))).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        CustomerExposureSummary result = loanAdapter.getCustomerExposure(1L);
+
+        assertThat(result.getOutstandingAmount()).isEqualByComparingTo("0");
+        assertThat(result.getPaidAmount()).isEqualByComparingTo("0");
+        assertThat(result.getNextDueDate()).isNull();
+        assertThat(result.getOverdueInstallments()).isZero();
+    }
+
+    @Test
+    void getCustomerExposure_WithNonExistentCustomer_ShouldThrowException() {
+        when(customerExposures.find(eq(999L), any(LocalDate.class))).thenReturn(Optional.empty());
+        when(customerRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> loanAdapter.getCustomerExposure(999L))
+                .isInstanceOf(CustomerNotFoundException.class)
+                .hasMessageContaining("Customer not found with this customerId: 999");
+    }
+
+    private LoanExportRow exportRow(Long loanId, Long installmentId, ZonedDateTime dueDate) {
+        return new LoanExportRow(loanId, 1L, new BigDecimal("1000"), new BigDecimal("0.2"), 6, dueDate.minusMonths(1), false,
+                ScheduleStorage.ROWS, new BigDecimal("200"), dueDate, installmentId, null, new BigDecimal("200"), BigDecimal.ZERO,
+                dueDate, null, false);
+    }
+
+    private LoanApplication application(Long customerId, String amount) {
+        return LoanApplication.builder()
+                .customerId(customerId)
+                .amount(new BigDecimal(amount))
+                .interest(new BigDecimal("0.2"))
+                .numberOfInstallments(12)
+                .build();
+    }
+
+    private Loan withId(Loan loan, Long id) {
+        loan.setId(id);
+        return loan;
     }
-} 
\ No newline at end of file
+}
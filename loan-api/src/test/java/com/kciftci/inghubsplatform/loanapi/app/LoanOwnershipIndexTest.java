@@ -0,0 +1,67 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.event.LoanCreatedEvent;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import com.kciftci.inghubsplatform.loanapi.app.security.LoanOwnershipIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoanOwnershipIndexTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    private LoanOwnershipIndex loanOwnershipIndex;
+
+    @BeforeEach
+    void setUp() {
+        loanOwnershipIndex = new LoanOwnershipIndex(loanRepository, 4);
+    }
+
+    @Test
+    void customerIdOf_CreatedLoan_ShouldNotQueryRepository() {
+        loanOwnershipIndex.onLoanCreated(new LoanCreatedEvent(1L, 7L));
+
+        assertThat(loanOwnershipIndex.customerIdOf(1L)).isEqualTo(7L);
+        verifyNoInteractions(loanRepository);
+    }
+
+    @Test
+    void customerIdOf_Miss_ShouldLoadOnceAndRemember() {
+        when(loanRepository.findCustomerIdById(2L)).thenReturn(Optional.of(9L));
+
+        assertThat(loanOwnershipIndex.customerIdOf(2L)).isEqualTo(9L);
+        assertThat(loanOwnershipIndex.customerIdOf(2L)).isEqualTo(9L);
+        verify(loanRepository, times(1)).findCustomerIdById(2L);
+    }
+
+    @Test
+    void customerIdOf_UnknownLoan_ShouldReturnNoOwner() {
+        when(loanRepository.findCustomerIdById(3L)).thenReturn(Optional.empty());
+
+        assertThat(loanOwnershipIndex.customerIdOf(3L)).isEqualTo(LoanOwnershipIndex.NO_OWNER);
+    }
+
+    @Test
+    void customerIdOf_CollidingLoan_ShouldNotReturnPreviousOwner() {
+        loanOwnershipIndex.put(1L, 7L);
+        loanOwnershipIndex.put(5L, 8L);
+        when(loanRepository.findCustomerIdById(1L)).thenReturn(Optional.of(7L));
+
+        assertThat(loanOwnershipIndex.customerIdOf(5L)).isEqualTo(8L);
+        assertThat(loanOwnershipIndex.customerIdOf(1L)).isEqualTo(7L);
+        verify(loanRepository, times(1)).findCustomerIdById(1L);
+    }
+}
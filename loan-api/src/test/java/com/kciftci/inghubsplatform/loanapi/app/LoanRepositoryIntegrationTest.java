@@ -0,0 +1,101 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanView;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoanRepositoryIntegrationTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.LOAN_REPOSITORY;
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("100000"));
+        insertLoan(9_000_001L, "1000", 6, BASE, false);
+        insertLoan(9_000_002L, "2000", 12, BASE.plusDays(1), true);
+        insertLoan(9_000_003L, "3000", 12, BASE.plusDays(2), false);
+        insertLoan(9_000_004L, "4000", 24, BASE.plusDays(3), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+    }
+
+    @Test
+    void findPage_WithoutFilters_ShouldReturnAllLoansOldestFirst() {
+        List<LoanView> loans = loanRepository.findPage(filter().build(), null, 10);
+
+        assertThat(loans).extracting(LoanView::getId).containsExactly(9_000_001L, 9_000_002L, 9_000_003L, 9_000_004L);
+        assertThat(loans).allMatch(loan -> loan.getCustomerId() == CUSTOMER_ID);
+    }
+
+    @Test
+    void findPage_ByPaymentStatusAndInstallments_ShouldReturnMatchingLoans() {
+        List<LoanView> loans = loanRepository.findPage(filter().isPaid(false).numberOfInstallments(12).build(), null, 10);
+
+        assertThat(loans).extracting(LoanView::getId).containsExactly(9_000_003L);
+    }
+
+    @Test
+    void findPage_ByCreatedAtRange_ShouldIncludeFromAndExcludeBefore() {
+        List<LoanView> loans = loanRepository.findPage(
+            filter().createdFrom(BASE.plusDays(1)).createdBefore(BASE.plusDays(3)).build(), null, 10);
+
+        assertThat(loans).extracting(LoanView::getId).containsExactly(9_000_002L, 9_000_003L);
+    }
+
+    @Test
+    void findPage_ByAmountRange_ShouldBeInclusive() {
+        List<LoanView> loans = loanRepository.findPage(
+            filter().minAmount(new BigDecimal("2000")).maxAmount(new BigDecimal("3000")).build(), null, 10);
+
+        assertThat(loans).extracting(LoanView::getId).containsExactly(9_000_002L, 9_000_003L);
+    }
+
+    @Test
+    void findPage_AfterCursor_ShouldContinueFromCursorWithFilters() {
+        LoanCursor after = new LoanCursor(BASE, 9_000_001L);
+
+        List<LoanView> loans = loanRepository.findPage(filter().isPaid(false).build(), after, 1);
+
+        assertThat(loans).extracting(LoanView::getId).containsExactly(9_000_003L);
+    }
+
+    private LoanFilter.LoanFilterBuilder filter() {
+        return LoanFilter.builder().customerId(CUSTOMER_ID);
+    }
+
+    private void insertLoan(long id, String amount, int numberOfInstallment, ZonedDateTime createdAt, boolean paid) {
+        jdbcTemplate.update("INSERT INTO loan (id, customer_id, loan_amount, interest, number_of_installment, created_at, " +
+                "is_paid, paid_installment_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            id, CUSTOMER_ID, new BigDecimal(amount), new BigDecimal("0.2"), numberOfInstallment,
+            createdAt.toOffsetDateTime(), paid, paid ? numberOfInstallment : 0);
+    }
+}
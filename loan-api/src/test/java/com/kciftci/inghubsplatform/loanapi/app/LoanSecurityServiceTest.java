@@ -4,22 +4,27 @@ import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
 import com.kciftci.inghubsplatform.loanapi.app.entity.User;
 import com.kciftci.inghubsplatform.loanapi.app.exception.UnauthorizedAccessException;
 import com.kciftci.inghubsplatform.loanapi.app.model.UserRole;
-import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
 import com.kciftci.inghubsplatform.loanapi.app.repository.UserRepository;
+import com.kciftci.inghubsplatform.loanapi.app.security.LoanOwnershipIndex;
 import com.kciftci.inghubsplatform.loanapi.app.security.LoanSecurityService;
+import com.kciftci.inghubsplatform.loanapi.app.security.LoanUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +34,7 @@ class LoanSecurityServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private LoanRepository loanRepository;
+    private LoanOwnershipIndex loanOwnershipIndex;
 
     @Mock
     private Authentication authentication;
@@ -37,11 +42,14 @@ class LoanSecurityServiceTest {
     @Mock
     private SecurityContext securityContext;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private LoanSecurityService loanSecurityService;
 
     @BeforeEach
     void setUp() {
-        loanSecurityService = new LoanSecurityService(userRepository, loanRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        loanSecurityService = new LoanSecurityService(userRepository, loanOwnershipIndex, meterRegistry);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
     }
@@ -131,4 +139,66 @@ class LoanSecurityServiceTest {
             .isInstanceOf(UnauthorizedAccessException.class)
             .hasMessage("Only customer users can get their customer ID");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void validateCustomerAccess_ResolvedPrincipal_ShouldNotQueryUsers() {
+        when(authentication.getPrincipal()).thenReturn(principal(UserRole.CUSTOMER, 1L));
+
+        loanSecurityService.validateCustomerAccess(1L);
+
+        assertThatThrownBy(() -> loanSecurityService.validateCustomerAccess(2L))
+            .isInstanceOf(UnauthorizedAccessException.class)
+            .hasMessage("Customer can only access their own data");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getCurrentCustomerId_ResolvedPrincipal_ShouldNotQueryUsers() {
+        when(authentication.getPrincipal()).thenReturn(principal(UserRole.CUSTOMER, 1L));
+
+        assertThat(loanSecurityService.getCurrentCustomerId()).isEqualTo(1L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void validateLoanAccess_OtherCustomersLoan_ShouldThrowException() {
+        when(authentication.getPrincipal()).thenReturn(principal(UserRole.CUSTOMER, 1L));
+        when(loanOwnershipIndex.customerIdOf(10L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> loanSecurityService.validateLoanAccess(10L))
+            .isInstanceOf(UnauthorizedAccessException.class)
+            .hasMessage("Customer can only access their own data");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void validateLoanAccess_UnknownLoan_ShouldThrowException() {
+        when(authentication.getPrincipal()).thenReturn(principal(UserRole.ADMIN, null));
+        when(loanOwnershipIndex.customerIdOf(99L)).thenReturn(LoanOwnershipIndex.NO_OWNER);
+
+        assertThatThrownBy(() -> loanSecurityService.validateLoanAccess(99L))
+            .isInstanceOf(UnauthorizedAccessException.class)
+            .hasMessage("Loan not found");
+    }
+
+    @Test
+    void validateLoanAccess_ShouldTimeChecksByOutcome() {
+        when(authentication.getPrincipal()).thenReturn(principal(UserRole.CUSTOMER, 1L));
+        when(loanOwnershipIndex.customerIdOf(10L)).thenReturn(1L);
+        when(loanOwnershipIndex.customerIdOf(11L)).thenReturn(2L);
+
+        loanSecurityService.validateLoanAccess(10L);
+        assertThatThrownBy(() -> loanSecurityService.validateLoanAccess(11L))
+            .isInstanceOf(UnauthorizedAccessException.class);
+
+        assertThat(meterRegistry.get("loan.security.checks").tags("check", "loan", "outcome", "granted").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("loan.security.checks").tags("check", "loan", "outcome", "denied").timer().count())
+            .isEqualTo(1);
+    }
+
+    private LoanUserDetails principal(UserRole role, Long customerId) {
+        return new LoanUserDetails(2L, "customer", "password", role, customerId,
+            List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    }
+}
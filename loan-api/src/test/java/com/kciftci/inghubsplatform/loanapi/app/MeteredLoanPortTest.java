@@ -0,0 +1,78 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredLoanPortTest {
+
+    @Mock
+    private LoanAdapter loanAdapter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MeteredLoanPort meteredLoanPort;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meteredLoanPort = new MeteredLoanPort(loanAdapter, meterRegistry);
+    }
+
+    @Test
+    void payLoan_ShouldTimeOperationAndCountPaidInstallments() {
+        ZonedDateTime paymentDate = ZonedDateTime.now();
+        when(loanAdapter.payLoan(1L, new BigDecimal("400"), paymentDate))
+            .thenReturn(PayLoan.builder().loanId(1L).installmentsPaid(2).totalAmountSpent(new BigDecimal("396")).build());
+
+        meteredLoanPort.payLoan(1L, new BigDecimal("400"), paymentDate);
+
+        assertThat(meterRegistry.get("loan.operations")
+            .tags("operation", "payLoan", "outcome", "success", "exception", "none", "installments", "2")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("loan.installments.paid").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void createLoan_Rejected_ShouldTimeOutcomeAndRethrow() {
+        when(loanAdapter.createLoan(1L, new BigDecimal("1000"), new BigDecimal("0.2"), 12))
+            .thenThrow(new IllegalArgumentException("Customer does not have enough credit limit"));
+
+        assertThatThrownBy(() -> meteredLoanPort.createLoan(1L, new BigDecimal("1000"), new BigDecimal("0.2"), 12))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.get("loan.operations")
+            .tags("operation", "createLoan", "outcome", "rejected", "exception", "IllegalArgumentException")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("loan.created").counter()).isNull();
+    }
+
+    @Test
+    void createLoans_ShouldCountCreatedAndRejectedItems() {
+        when(loanAdapter.createLoans(any())).thenReturn(List.of(
+            LoanCreationResult.created(Loan.builder().numberOfInstallment(12).build()),
+            LoanCreationResult.rejected("Customer does not have enough credit limit")));
+
+        meteredLoanPort.createLoans(List.of(new LoanApplication(), new LoanApplication()));
+
+        assertThat(meterRegistry.get("loan.created").tags("installments", "12").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("loan.batch.rejected").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaymentConcurrencyTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.PAYMENT_CONCURRENCY;
+    private static final int THREADS = 32;
+    private static final int PAYMENTS = 4000;
+    private static final int HOT_LOANS = 4;
+    private static final int COLD_LOANS = 128;
+    private static final int COLD_CUSTOMERS = 8;
+
+    @Autowired
+    private LoanAdapter loanAdapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> hotLoanIds = new ArrayList<>();
+    private final List<Long> coldLoanIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("1000000"));
+        for (int i = 0; i < COLD_CUSTOMERS; i++) {
+            TestCustomers.create(jdbcTemplate, coldCustomerId(i), new BigDecimal("1000000"));
+        }
+        for (int i = 0; i < HOT_LOANS; i++) {
+            hotLoanIds.add(createLoan(CUSTOMER_ID));
+        }
+        // cold loans are spread over customers of their own, since payments of one customer also share its exposure row
+        for (int i = 0; i < COLD_LOANS; i++) {
+            coldLoanIds.add(createLoan(coldCustomerId(i % COLD_CUSTOMERS)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+        for (int i = 0; i < COLD_CUSTOMERS; i++) {
+            TestCustomers.delete(jdbcTemplate, coldCustomerId(i));
+        }
+    }
+
+    @Test
+    void payLoan_MixedContention_ShouldPayEachInstallmentOnce() throws Exception {
+        Map<Long, AtomicInteger> paidPerLoan = new ConcurrentHashMap<>();
+        long[] latenciesNanos = new long[PAYMENTS];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < PAYMENTS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Long loanId = index % 2 == 0
+                    ? hotLoanIds.get(random.nextInt(HOT_LOANS))
+                    : coldLoanIds.get(random.nextInt(COLD_LOANS));
+                long startedAt = System.nanoTime();
+                try {
+                    PayLoan result = loanAdapter.payLoan(loanId, new BigDecimal("20"), ZonedDateTime.now());
+                    paidPerLoan.computeIfAbsent(loanId, id -> new AtomicInteger()).addAndGet(result.getInstallmentsPaid());
+                } catch (IllegalArgumentException e) {
+                    assertThat(e).hasMessage("No payable installments found");
+                } finally {
+                    latenciesNanos[index] = System.nanoTime() - startedAt;
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        Arrays.sort(latenciesNanos);
+        log.info("payLoan mixed contention: {} payments in {} ms, {} ops/s, p50={} ms, p99={} ms",
+            PAYMENTS,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            PAYMENTS * 1_000_000_000L / elapsedNanos,
+            latenciesNanos[PAYMENTS / 2] / 1_000_000.0,
+            latenciesNanos[(int) (PAYMENTS * 0.99)] / 1_000_000.0);
+
+        for (Long loanId : concat(hotLoanIds, coldLoanIds)) {
+            Integer paidRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM loan_installment WHERE loan_id = ? AND is_paid = TRUE", Integer.class, loanId);
+            Integer paidCounter = jdbcTemplate.queryForObject(
+                "SELECT paid_installment_count FROM loan WHERE id = ?", Integer.class, loanId);
+            int reportedPaid = paidPerLoan.getOrDefault(loanId, new AtomicInteger()).get();
+
+            assertThat(paidRows).isEqualTo(reportedPaid);
+            assertThat(paidCounter).isEqualTo(reportedPaid);
+        }
+    }
+
+    private Long createLoan(long customerId) {
+        return loanAdapter.createLoan(customerId, new BigDecimal("100"), new BigDecimal("0.2"), 6).getId();
+    }
+
+    private static long coldCustomerId(int index) {
+        return TestCustomers.PAYMENT_CONCURRENCY_COLD + index;
+    }
+
+    private List<Long> concat(List<Long> first, List<Long> second) {
+        List<Long> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+}
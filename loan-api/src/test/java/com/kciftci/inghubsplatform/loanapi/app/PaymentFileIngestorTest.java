@@ -0,0 +1,104 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.ingestion.IngestionReport;
+import com.kciftci.inghubsplatform.loanapi.app.ingestion.PaymentFileIngestor;
+import com.kciftci.inghubsplatform.loanapi.app.ingestion.PaymentReject;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentFileIngestorTest {
+
+    private static final int WORKERS = 4;
+    private static final int LOANS = 10;
+    private static final int PAYMENTS_PER_LOAN = 20;
+    private static final long REJECTED_LOAN_ID = 7L;
+
+    @Mock
+    private LoanPort loanPort;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ingest_ShouldApplyPaymentsOfEachLoanInFileOrder() throws Exception {
+        Path file = writePayments(LOANS, PAYMENTS_PER_LOAN);
+
+        Map<Long, List<BigDecimal>> applied = new ConcurrentHashMap<>();
+        when(loanPort.payLoan(any(), any(), any())).thenAnswer(invocation -> {
+            Long loanId = invocation.getArgument(0);
+            if (loanId == REJECTED_LOAN_ID) {
+                throw new IllegalArgumentException("No payable installments found");
+            }
+            BigDecimal amount = invocation.getArgument(1);
+            applied.computeIfAbsent(loanId, id -> Collections.synchronizedList(new ArrayList<>())).add(amount);
+            return PayLoan.builder().loanId(loanId).installmentsPaid(1).totalAmountSpent(amount).build();
+        });
+
+        PaymentFileIngestor ingestor = new PaymentFileIngestor(loanPort, WORKERS, 8, 64, Duration.ofMinutes(1));
+        IngestionReport report = ingestor.ingest(file);
+
+        assertThat(report.getRowsRead()).isEqualTo(LOANS * PAYMENTS_PER_LOAN);
+        assertThat(report.getApplied()).isEqualTo((LOANS - 1) * PAYMENTS_PER_LOAN);
+        assertThat(report.getRejected()).isEqualTo(PAYMENTS_PER_LOAN);
+        assertThat(report.getRejects()).extracting(PaymentReject::reason).containsOnly("No payable installments found");
+        assertThat(report.getRejects()).isSortedAccordingTo((a, b) -> Long.compare(a.lineNumber(), b.lineNumber()));
+        assertThat(applied).hasSize(LOANS - 1);
+        applied.values().forEach(amounts -> assertThat(amounts)
+            .hasSize(PAYMENTS_PER_LOAN)
+            .isSortedAccordingTo(BigDecimal::compareTo));
+    }
+
+    @Test
+    void ingest_WhenPaymentFailsWithError_ShouldAbortAndRethrow() throws Exception {
+        Path file = writePayments(LOANS, PAYMENTS_PER_LOAN);
+
+        AssertionError failure = new AssertionError("installment store corrupted");
+        when(loanPort.payLoan(any(), any(), any())).thenThrow(failure);
+
+        PaymentFileIngestor ingestor = new PaymentFileIngestor(loanPort, WORKERS, 1, 64, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> ingestor.ingest(file))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageStartingWith("Payment ingestion aborted at line")
+            .hasCause(failure);
+        // a worker skips every payment after its own failure, so at most one call per worker got through
+        verify(loanPort, atMost(WORKERS)).payLoan(any(), any(), any());
+    }
+
+    /**
+     * Writes a payment file with the payments of all loans interleaved, each loan's amounts rising
+     * from 1 so their order can be checked.
+     */
+    private Path writePayments(int loans, int paymentsPerLoan) throws IOException {
+        StringBuilder csv = new StringBuilder("loanId,amount,paymentDate\n");
+        for (int payment = 1; payment <= paymentsPerLoan; payment++) {
+            for (long loanId = 1; loanId <= loans; loanId++) {
+                csv.append(loanId).append(',').append(payment).append(",2024-03-01T10:00:00Z\n");
+            }
+        }
+        return Files.writeString(tempDir.resolve("payments.csv"), csv);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.ingestion.PaymentFileReader;
+import com.kciftci.inghubsplatform.loanapi.app.ingestion.PaymentRecord;
+import com.kciftci.inghubsplatform.loanapi.app.ingestion.PaymentReject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentFileReaderTest {
+
+    private static final ZonedDateTime INGESTION_TIME = ZonedDateTime.of(2024, 3, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_LinesSpanningChunks_ShouldParseEveryRow() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("payments.csv"),
+            "loanId,amount,paymentDate\r\n" +
+            "1,100.50,2024-03-01T10:00:00Z\r\n" +
+            "2,abc,\n" +
+            "\n" +
+            "3,200\n" +
+            "4,50,2024-03-05");
+        List<PaymentRecord> records = new ArrayList<>();
+        List<PaymentReject> rejects = new ArrayList<>();
+
+        long rows = new PaymentFileReader(8, INGESTION_TIME).read(file, records::add, rejects::add);
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(records).containsExactly(
+            new PaymentRecord(2, 1L, new BigDecimal("100.50"), ZonedDateTime.parse("2024-03-01T10:00:00Z")),
+            new PaymentRecord(5, 3L, new BigDecimal("200"), INGESTION_TIME),
+            new PaymentRecord(6, 4L, new BigDecimal("50"), ZonedDateTime.of(2024, 3, 5, 0, 0, 0, 0, ZoneOffset.UTC)));
+        assertThat(rejects).extracting(PaymentReject::lineNumber).containsExactly(3L);
+    }
+
+    @Test
+    void read_NonPositiveAmount_ShouldRejectRow() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("payments.csv"), "1,0\n2,-5\n");
+        List<PaymentReject> rejects = new ArrayList<>();
+
+        long rows = new PaymentFileReader(1024, INGESTION_TIME).read(file, record -> { }, rejects::add);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(rejects).extracting(PaymentReject::reason).containsOnly("Malformed row: amount must be positive");
+    }
+}
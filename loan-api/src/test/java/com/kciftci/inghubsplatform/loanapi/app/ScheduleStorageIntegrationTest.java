@@ -0,0 +1,84 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanInstallmentResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ScheduleStorageIntegrationTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.SCHEDULE_STORAGE;
+    private static final long COMPACT_LOAN_ID = 9_100_001L;
+
+    @Autowired
+    private LoanAdapter loanAdapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("100000"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+    }
+
+    @Test
+    void compactSchedule_ShouldBehaveLikeRowSchedule() {
+        Loan rowsLoan = loanAdapter.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 6);
+        jdbcTemplate.update("""
+                INSERT INTO loan (id, customer_id, loan_amount, interest, number_of_installment, created_at, is_paid,
+                                  paid_installment_count, schedule_storage, installment_amount, first_due_date, paid_installment_mask)
+                SELECT ?, customer_id, loan_amount, interest, number_of_installment, created_at, is_paid,
+                       paid_installment_count, 'COMPACT', installment_amount, first_due_date, 0
+                FROM loan WHERE id = ?""",
+            COMPACT_LOAN_ID, rowsLoan.getId());
+
+        assertSameSchedule(rowsLoan.getId());
+
+        ZonedDateTime paymentDate = ZonedDateTime.now();
+        PayLoan rowsPayment = loanAdapter.payLoan(rowsLoan.getId(), new BigDecimal("400"), paymentDate);
+        PayLoan compactPayment = loanAdapter.payLoan(COMPACT_LOAN_ID, new BigDecimal("400"), paymentDate);
+
+        assertThat(compactPayment.getInstallmentsPaid()).isEqualTo(rowsPayment.getInstallmentsPaid()).isPositive();
+        assertThat(compactPayment.getTotalAmountSpent()).isEqualByComparingTo(rowsPayment.getTotalAmountSpent());
+        assertThat(compactPayment.isLoanFullyPaid()).isEqualTo(rowsPayment.isLoanFullyPaid());
+        assertSameSchedule(rowsLoan.getId());
+
+        Integer paymentRows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan_installment_payment WHERE loan_id = ?", Integer.class, COMPACT_LOAN_ID);
+        Integer installmentRows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM loan_installment WHERE loan_id = ?", Integer.class, COMPACT_LOAN_ID);
+        assertThat(paymentRows).isEqualTo(rowsPayment.getInstallmentsPaid());
+        assertThat(installmentRows).isZero();
+    }
+
+    private void assertSameSchedule(Long rowsLoanId) {
+        List<LoanInstallmentResponse> rows = LoanInstallmentResponse.listOf(loanAdapter.listLoanInstallments(rowsLoanId));
+        List<LoanInstallmentResponse> compact = LoanInstallmentResponse.listOf(loanAdapter.listLoanInstallments(COMPACT_LOAN_ID));
+
+        assertThat(rows).hasSize(6);
+        assertThat(compact).usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "loanId")
+            .containsExactlyElementsOf(rows);
+        assertThat(compact).allMatch(installment -> installment.getId() == null);
+    }
+}
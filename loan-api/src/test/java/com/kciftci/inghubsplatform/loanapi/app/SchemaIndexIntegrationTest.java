@@ -0,0 +1,123 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCursor;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanFilter;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hibernate takes a single statement inspector, so the request counter makes way for the recorder below
+@SpringBootTest(properties = "loan.sql.statement-count.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SchemaIndexIntegrationTest {
+
+    private static final int PAGE_LIMIT = 51;
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanInstallmentRepository loanInstallmentRepository;
+
+    @Test
+    void loanFilterQuery_ShouldUseCustomerPaidInstallmentsIndex() {
+        LoanFilter filter = LoanFilter.builder().customerId(1L).isPaid(false).numberOfInstallments(12).build();
+
+        String sql = recordSingle(() -> loanRepository.findPage(filter, null, PAGE_LIMIT));
+
+        assertThat(explain(sql, 1L, false, 12, PAGE_LIMIT)).containsIgnoringCase("idx_loan_customer_paid_installments");
+    }
+
+    @Test
+    void loanPageQuery_ShouldUseCustomerCreatedAtIndex() {
+        LoanFilter filter = LoanFilter.builder().customerId(1L).build();
+        ZonedDateTime createdAt = ZonedDateTime.now();
+        LoanCursor cursor = new LoanCursor(createdAt, 10L);
+
+        String sql = recordSingle(() -> loanRepository.findPage(filter, cursor, PAGE_LIMIT));
+
+        OffsetDateTime cursorCreatedAt = createdAt.toOffsetDateTime();
+        assertThat(explain(sql, 1L, cursorCreatedAt, cursorCreatedAt, cursorCreatedAt, 10L, PAGE_LIMIT))
+            .containsIgnoringCase("idx_loan_customer_created_at");
+    }
+
+    @Test
+    void unpaidInstallmentQuery_ShouldUseLoanPaidDueDateIndex() {
+        ZonedDateTime maxDueDate = ZonedDateTime.now();
+
+        String sql = recordSingle(() -> loanInstallmentRepository.findUnpaidInstallmentsByLoanIdAndMaxDueDate(1L, maxDueDate));
+
+        assertThat(explain(sql, 1L, maxDueDate.toOffsetDateTime())).containsIgnoringCase("idx_loan_installment_loan_paid_due");
+    }
+
+    @Test
+    void userLookup_ShouldUseUsernameIndex() {
+        String plan = explain("SELECT id FROM users WHERE username = ?", "kubilay");
+
+        assertThat(plan).containsIgnoringCase("idx_users_username");
+    }
+
+    /**
+     * Runs the query and returns the one statement Hibernate prepared for it, so the plan is checked
+     * against the SQL that actually runs.
+     */
+    private String recordSingle(Runnable query) {
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            query.run();
+        } finally {
+            RECORDED.remove();
+        }
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+
+    /**
+     * Explains the statement with its parameters bound in order. The page limit is passed last and
+     * is dropped when Hibernate renders it inline instead of as a parameter.
+     */
+    private String explain(String sql, Object... parameters) {
+        long placeholders = sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, Arrays.copyOf(parameters, (int) placeholders));
+    }
+
+    @TestConfiguration
+    static class StatementRecordingConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementRecorderCustomizer() {
+            StatementInspector recorder = sql -> {
+                List<String> statements = RECORDED.get();
+                if (statements != null) {
+                    statements.add(sql);
+                }
+                return sql;
+            };
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, recorder);
+        }
+    }
+}
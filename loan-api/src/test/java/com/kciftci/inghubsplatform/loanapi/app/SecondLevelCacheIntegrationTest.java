@@ -0,0 +1,139 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
+import com.kciftci.inghubsplatform.loanapi.app.entity.User;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.SECOND_LEVEL_CACHE;
+    private static final long SEEDED_CUSTOMER_ID = 2L;
+
+    @Autowired
+    private LoanPort loanPort;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("100000"));
+        evictCustomer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+        evictCustomer();
+    }
+
+    @Test
+    void findByUsername_ShouldBeServedFromQueryAndEntityCaches() {
+        userRepository.findByUsername("merve");
+        statistics.clear();
+
+        User user = userRepository.findByUsername("merve").orElseThrow();
+
+        assertThat(user.getUsername()).isEqualTo("merve");
+        assertThat(user.getCustomer().getId()).isEqualTo(SEEDED_CUSTOMER_ID);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findById_ShouldBeServedFromEntityCache() {
+        customerRepository.findById(CUSTOMER_ID);
+        statistics.clear();
+
+        Customer customer = customerRepository.findById(CUSTOMER_ID).orElseThrow();
+
+        assertThat(customer.getSurname()).isEqualTo("Customer " + CUSTOMER_ID);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findById_AfterCreditReservation_ShouldSeeUsedCreditLimit() {
+        assertThat(customerRepository.findById(CUSTOMER_ID).orElseThrow().getUsedCreditLimit()).isEqualByComparingTo("0");
+
+        loanPort.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 12);
+
+        assertThat(customerRepository.findById(CUSTOMER_ID).orElseThrow().getUsedCreditLimit()).isEqualByComparingTo("1200");
+    }
+
+    @Test
+    void findById_AfterCreditReservation_ShouldKeepOtherCustomersCached() {
+        customerRepository.findById(SEEDED_CUSTOMER_ID);
+
+        loanPort.createLoan(CUSTOMER_ID, new BigDecimal("1000"), new BigDecimal("0.2"), 12);
+        statistics.clear();
+
+        assertThat(customerRepository.findById(SEEDED_CUSTOMER_ID)).isPresent();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findById_AfterBatchCreation_ShouldSeeUsedCreditLimit() {
+        assertThat(customerRepository.findById(CUSTOMER_ID).orElseThrow().getUsedCreditLimit()).isEqualByComparingTo("0");
+
+        loanPort.createLoans(List.of(LoanApplication.builder()
+            .customerId(CUSTOMER_ID)
+            .amount(new BigDecimal("1000"))
+            .interest(new BigDecimal("0.2"))
+            .numberOfInstallments(6)
+            .build()));
+
+        assertThat(customerRepository.findById(CUSTOMER_ID).orElseThrow().getUsedCreditLimit()).isEqualByComparingTo("1200");
+    }
+
+    @Test
+    void findById_AfterLoanIsFullyPaid_ShouldSeeReleasedCredit() {
+        Long loanId = loanPort.createLoan(CUSTOMER_ID, new BigDecimal("100"), new BigDecimal("0.2"), 6).getId();
+        assertThat(customerRepository.findById(CUSTOMER_ID).orElseThrow().getUsedCreditLimit()).isEqualByComparingTo("120");
+
+        // four months out, every installment falls within the three-month payment window
+        loanPort.payLoan(loanId, new BigDecimal("1000"), ZonedDateTime.now().plusMonths(4));
+
+        assertThat(customerRepository.findById(CUSTOMER_ID).orElseThrow().getUsedCreditLimit()).isEqualByComparingTo("0");
+    }
+
+    // plain JDBC bypasses Hibernate, so the cached customer is evicted by hand
+    private void evictCustomer() {
+        entityManagerFactory.getCache().evict(Customer.class, CUSTOMER_ID);
+    }
+}
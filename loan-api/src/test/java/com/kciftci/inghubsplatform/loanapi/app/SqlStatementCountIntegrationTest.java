@@ -0,0 +1,206 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kciftci.inghubsplatform.loanapi.app.sql.SqlStatementCountFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each {@code LoanController} endpoint may execute, so an N+1
+ * query slipping into a mapping or an association fails here instead of in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementCountIntegrationTest {
+
+    private static final long CUSTOMER_ID = TestCustomers.SQL_STATEMENT_COUNT;
+    private static final RequestPostProcessor ADMIN = httpBasic("admin", "admin123");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestCustomers.create(jdbcTemplate, CUSTOMER_ID, new BigDecimal("1000000"));
+        // caches the admin credentials and warms up the pooled sequence optimizers before anything is measured
+        createLoan(12);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestCustomers.delete(jdbcTemplate, CUSTOMER_ID);
+    }
+
+    @Test
+    void createLoan_ShouldStayWithinStatementBudget() throws Exception {
+        MvcResult result = mockMvc.perform(post("/loan").with(ADMIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loanJson(24)))
+            .andExpect(status().isAccepted())
+            .andReturn();
+
+        // customer lock, credit update, loan insert, one batched installment insert and at most two sequence calls,
+        // plus the exposure lock, the due-day read, the exposure update and a batched update and insert of due days
+        assertThat(statementCount(result)).isBetween(1, 11);
+    }
+
+    @Test
+    void createLoans_ShouldStayWithinStatementBudget() throws Exception {
+        MvcResult result = createLoans(3);
+
+        // customer lock, credit update, one batched insert per table and at most four sequence calls,
+        // plus the exposure lock, the due-day read and one update per exposure table
+        assertThat(statementCount(result)).isBetween(1, 12);
+    }
+
+    @Test
+    void listLoans_ShouldNotGrowWithNumberOfLoans() throws Exception {
+        createLoans(20);
+
+        MvcResult result = mockMvc.perform(get("/loan").with(ADMIN).param("customerId", String.valueOf(CUSTOMER_ID)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    @Test
+    void listLoanInstallments_ShouldStayWithinStatementBudget() throws Exception {
+        long loanId = createLoan(24);
+
+        MvcResult result = mockMvc.perform(get("/loan/installments/{loanId}", loanId).with(ADMIN))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // schedule and installment views; ownership comes from the index filled when the loan was created
+        assertThat(statementCount(result)).isEqualTo(2);
+    }
+
+    @Test
+    void listLoanInstallments_ShouldServeRepeatedReadsFromCacheUntilPaid() throws Exception {
+        long loanId = createLoan(12);
+        listInstallments(loanId);
+
+        assertThat(statementCount(listInstallments(loanId))).isZero();
+
+        mockMvc.perform(post("/loan/pay/{loanId}", loanId).with(ADMIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 100, \"paymentDate\": \"" + Instant.now() + "\"}"))
+            .andExpect(status().isOk());
+
+        MvcResult afterPayment = listInstallments(loanId);
+        assertThat(statementCount(afterPayment)).isEqualTo(2);
+        JsonNode installments = objectMapper.readTree(afterPayment.getResponse().getContentAsString());
+        assertThat(installments.get(0).get("paid").asBoolean()).isTrue();
+        assertThat(installments.get(1).get("paid").asBoolean()).isFalse();
+    }
+
+    @Test
+    void payLoan_ShouldStayWithinStatementBudget() throws Exception {
+        long loanId = createLoan(12);
+
+        MvcResult result = mockMvc.perform(post("/loan/pay/{loanId}", loanId).with(ADMIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 300, \"paymentDate\": \"" + Instant.now() + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // locking loan read, customer read, unpaid installment read, one batched installment update and the loan update,
+        // plus the exposure lock, the due-day read and one update per exposure table
+        assertThat(statementCount(result)).isBetween(1, 9);
+    }
+
+    @Test
+    void getCustomerExposure_ShouldNotGrowWithNumberOfLoans() throws Exception {
+        createLoans(20);
+
+        MvcResult result = mockMvc.perform(get("/loan/exposure").with(ADMIN).param("customerId", String.valueOf(CUSTOMER_ID)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // exposure and due days
+        assertThat(statementCount(result)).isEqualTo(2);
+    }
+
+    @Test
+    void exportLoans_ShouldStreamWithOneQuery() throws Exception {
+        createLoans(5);
+
+        MvcResult started = mockMvc.perform(get("/loan/export").with(ADMIN).param("customerId", String.valueOf(CUSTOMER_ID)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(statementCount(result)).isEqualTo(1);
+    }
+
+    private long createLoan(int numberOfInstallments) throws Exception {
+        MvcResult result = mockMvc.perform(post("/loan").with(ADMIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loanJson(numberOfInstallments)))
+            .andExpect(status().isAccepted())
+            .andReturn();
+        JsonNode loan = objectMapper.readTree(result.getResponse().getContentAsString());
+        return loan.get("id").asLong();
+    }
+
+    private MvcResult listInstallments(long loanId) throws Exception {
+        return mockMvc.perform(get("/loan/installments/{loanId}", loanId).with(ADMIN))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+
+    private MvcResult createLoans(int count) throws Exception {
+        StringBuilder content = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            content.append(i > 0 ? "," : "").append(loanJson(12));
+        }
+        return mockMvc.perform(post("/loan/batch").with(ADMIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content.append("]").toString()))
+            .andExpect(status().is2xxSuccessful())
+            .andReturn();
+    }
+
+    private static String loanJson(int numberOfInstallments) {
+        return "{\"customerId\": " + CUSTOMER_ID + ", \"amount\": 1000, \"interest\": 0.2, \"numberOfInstallments\": "
+            + numberOfInstallments + "}";
+    }
+
+    private static int statementCount(MvcResult result) {
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertThat(header).isNotNull();
+        return Integer.parseInt(header);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kciftci.inghubsplatform.loanapi.app;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Customers owned by one integration test each, so tests sharing the application context never touch
+ * each other's rows. {@link #delete} knows every table that references a customer, in dependency order.
+ */
+final class TestCustomers {
+
+    static final long CREDIT_RESERVATION = 1000L;
+    static final long PAYMENT_CONCURRENCY = 1001L;
+    static final long LOAN_REPOSITORY = 1002L;
+    static final long SCHEDULE_STORAGE = 1003L;
+    static final long SQL_STATEMENT_COUNT = 1004L;
+    static final long SECOND_LEVEL_CACHE = 1005L;
+    static final long CUSTOMER_EXPOSURE = 1006L;
+    static final long COMPACT_SCHEDULE_STORAGE = 1007L;
+    // first of eight consecutive ids
+    static final long PAYMENT_CONCURRENCY_COLD = 1010L;
+
+    private TestCustomers() {
+    }
+
+    /**
+     * Replaces the customer and everything it owns with a fresh customer without used credit.
+     */
+    static void create(JdbcTemplate jdbcTemplate, long customerId, BigDecimal creditLimit) {
+        delete(jdbcTemplate, customerId);
+        jdbcTemplate.update("INSERT INTO customer (id, name, surname, credit_limit, used_credit_limit) VALUES (?, ?, ?, ?, ?)",
+            customerId, "Test", "Customer " + customerId, creditLimit, BigDecimal.ZERO);
+    }
+
+    static void delete(JdbcTemplate jdbcTemplate, long customerId) {
+        jdbcTemplate.update("DELETE FROM loan_installment_payment WHERE loan_id IN (SELECT id FROM loan WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loan_installment WHERE loan_id IN (SELECT id FROM loan WHERE customer_id = ?)", customerId);
+        jdbcTemplate.update("DELETE FROM loan WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customer_exposure_due WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customer_exposure WHERE customer_id = ?", customerId);
+        jdbcTemplate.update("DELETE FROM customer WHERE id = ?", customerId);
+    }
+}
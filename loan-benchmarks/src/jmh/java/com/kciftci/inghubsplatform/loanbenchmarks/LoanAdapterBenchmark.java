@@ -0,0 +1,178 @@
+package com.kciftci.inghubsplatform.loanbenchmarks;
+
+import com.kciftci.inghubsplatform.loanapi.app.LoanAdapter;
+import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
+import com.kciftci.inghubsplatform.loanapi.app.entity.CustomerExposure;
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.entity.LoanInstallment;
+import com.kciftci.inghubsplatform.loanapi.app.exposure.CustomerExposureStore;
+import com.kciftci.inghubsplatform.loanapi.app.model.PayLoan;
+import com.kciftci.inghubsplatform.loanapi.app.model.ScheduleStorage;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerExposureDueRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerExposureRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.CustomerRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentPaymentRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanInstallmentRepository;
+import com.kciftci.inghubsplatform.loanapi.app.repository.LoanRepository;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.CompactInstallmentStore;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentStores;
+import com.kciftci.inghubsplatform.loanapi.app.schedule.RowInstallmentStore;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Schedule generation in {@code createLoan} and payment allocation in {@code payLoan}, run through
+ * {@link LoanAdapter} against in-memory repositories. Every {@code payLoan} call starts from the same
+ * unpaid loan and pays its first three installments ten days early.
+ */
+@State(Scope.Benchmark)
+public class LoanAdapterBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("5000.00");
+    private static final BigDecimal INTEREST = new BigDecimal("0.15");
+    private static final ZonedDateTime FIRST_DUE_DATE = ZonedDateTime.of(2024, 2, 1, 10, 30, 0, 0, ZoneId.of("Europe/Istanbul"));
+    private static final ZonedDateTime PAYMENT_DATE = FIRST_DUE_DATE.minusDays(10);
+
+    @Param({"ROWS", "COMPACT"})
+    private ScheduleStorage storage;
+
+    @Param({"12", "24"})
+    private int numberOfInstallments;
+
+    private final Customer customer = Customer.builder()
+        .id(1L)
+        .creditLimit(new BigDecimal("1000000000"))
+        .usedCreditLimit(BigDecimal.ZERO)
+        .build();
+    private final CustomerExposure exposure = CustomerExposure.builder()
+        .customerId(1L)
+        .outstandingAmount(BigDecimal.ZERO)
+        .paidAmount(BigDecimal.ZERO)
+        .build();
+
+    private LoanAdapter loanAdapter;
+    private Loan unpaidLoan;
+    private List<LoanInstallment> unpaidRows;
+    private BigDecimal paymentAmount;
+    private long nextLoanId = 1;
+
+    @Setup
+    public void setUp() {
+        BigDecimal installmentAmount = AMOUNT.multiply(BigDecimal.ONE.add(INTEREST))
+            .divide(BigDecimal.valueOf(numberOfInstallments), 2, RoundingMode.HALF_UP);
+        paymentAmount = installmentAmount.multiply(BigDecimal.valueOf(3));
+        unpaidLoan = Loan.builder()
+            .id(0L)
+            .customer(customer)
+            .loanAmount(AMOUNT)
+            .interest(INTEREST)
+            .numberOfInstallment(numberOfInstallments)
+            .createdAt(FIRST_DUE_DATE.minusMonths(1))
+            .scheduleStorage(storage)
+            .installmentAmount(installmentAmount)
+            .firstDueDate(FIRST_DUE_DATE)
+            .build();
+        unpaidRows = new ArrayList<>(numberOfInstallments);
+        for (int i = 0; i < numberOfInstallments; i++) {
+            unpaidRows.add(LoanInstallment.builder()
+                .id(i + 1L)
+                .loan(unpaidLoan)
+                .amount(installmentAmount)
+                .dueDate(FIRST_DUE_DATE.plusMonths(i))
+                .build());
+        }
+
+        LoanRepository loanRepository = Stubs.of(LoanRepository.class, Map.of(
+            "save", args -> assignId((Loan) args[0]),
+            "findByIdForUpdate", args -> Optional.of(resetUnpaidLoan())));
+        CustomerRepository customerRepository = Stubs.of(CustomerRepository.class, Map.of(
+            "findByIdForUpdate", args -> Optional.of(resetCustomer())));
+        LoanInstallmentRepository loanInstallmentRepository = Stubs.of(LoanInstallmentRepository.class, Map.of(
+            "saveAll", args -> args[0],
+            "findUnpaidInstallmentsByLoanIdAndMaxDueDate", args -> unpaidRows((ZonedDateTime) args[1])));
+        LoanInstallmentPaymentRepository paymentRepository = Stubs.of(LoanInstallmentPaymentRepository.class, Map.of(
+            "saveAll", args -> args[0]));
+
+        // the customer's exposure exists but has no due days, so createLoan adds every day and payLoan finds none
+        CustomerExposureStore customerExposures = new CustomerExposureStore(
+            Stubs.of(CustomerExposureRepository.class, Map.of(
+                "findAllByIdForUpdate", args -> List.of(resetExposure()),
+                "saveAll", args -> args[0])),
+            Stubs.of(CustomerExposureDueRepository.class, Map.of(
+                "findAllByCustomerIdsAndDueDays", args -> List.of(),
+                "saveAll", args -> args[0])));
+
+        InstallmentStores installmentStores = new InstallmentStores(
+            List.of(new RowInstallmentStore(loanInstallmentRepository), new CompactInstallmentStore(paymentRepository)), storage);
+        loanAdapter = new LoanAdapter(loanRepository, customerRepository, loanInstallmentRepository, installmentStores,
+            customerExposures, event -> { }, Stubs.of(EntityManager.class, Map.of(
+                // payLoan re-reads the customer under its lock when the loan is paid off
+                "refresh", args -> {
+                    resetCustomer();
+                    return null;
+                })));
+    }
+
+    @Benchmark
+    public Loan createLoan() {
+        return loanAdapter.createLoan(customer.getId(), AMOUNT, INTEREST, numberOfInstallments);
+    }
+
+    @Benchmark
+    public PayLoan payLoan() {
+        return loanAdapter.payLoan(unpaidLoan.getId(), paymentAmount, PAYMENT_DATE);
+    }
+
+    private Loan assignId(Loan loan) {
+        if (loan.getId() == null) {
+            loan.setId(nextLoanId++);
+        }
+        return loan;
+    }
+
+    // every createLoan reserves credit on the same customer, so its limit would run out over a long run
+    private Customer resetCustomer() {
+        customer.setUsedCreditLimit(BigDecimal.ZERO);
+        return customer;
+    }
+
+    private CustomerExposure resetExposure() {
+        exposure.setOutstandingAmount(BigDecimal.ZERO);
+        exposure.setPaidAmount(BigDecimal.ZERO);
+        return exposure;
+    }
+
+    private Loan resetUnpaidLoan() {
+        unpaidLoan.setPaid(false);
+        unpaidLoan.setPaidInstallmentCount(0);
+        unpaidLoan.setPaidInstallmentMask(0);
+        return unpaidLoan;
+    }
+
+    private List<LoanInstallment> unpaidRows(ZonedDateTime maxDueDate) {
+        List<LoanInstallment> rows = new ArrayList<>();
+        for (LoanInstallment row : unpaidRows) {
+            if (row.getDueDate().isAfter(maxDueDate)) {
+                break;
+            }
+            row.setPaid(false);
+            row.setPaidAmount(BigDecimal.ZERO);
+            row.setPaymentDate(null);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,38 @@
+package com.kciftci.inghubsplatform.loanbenchmarks;
+
+import com.kciftci.inghubsplatform.loanapi.app.schedule.InstallmentMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Early payment discount and late payment penalty of a single installment.
+ */
+@State(Scope.Benchmark)
+public class PaymentCalculationBenchmark {
+
+    private final BigDecimal amount = new BigDecimal("479.17");
+    private final ZonedDateTime dueDate = ZonedDateTime.of(2024, 3, 1, 10, 30, 0, 0, ZoneId.of("Europe/Istanbul"));
+    private final ZonedDateTime earlyPaymentDate = dueDate.minusDays(17).minusHours(3);
+    private final ZonedDateTime latePaymentDate = dueDate.plusDays(9).plusMinutes(42);
+
+    @Benchmark
+    public BigDecimal earlyPayment() {
+        return InstallmentMath.finalAmount(amount, dueDate, earlyPaymentDate);
+    }
+
+    @Benchmark
+    public BigDecimal latePayment() {
+        return InstallmentMath.finalAmount(amount, dueDate, latePaymentDate);
+    }
+
+    @Benchmark
+    public long earlyPaymentUnscaled() {
+        return InstallmentMath.adjustedAmount(47_917L, earlyPaymentDate.toEpochSecond(), earlyPaymentDate.getNano(),
+            dueDate.toEpochSecond(), dueDate.getNano());
+    }
+}
@@ -0,0 +1,83 @@
+package com.kciftci.inghubsplatform.loanbenchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.kciftci.inghubsplatform.loanapi.app.entity.Customer;
+import com.kciftci.inghubsplatform.loanapi.app.entity.Loan;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanInstallmentView;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanInstallmentResponse;
+import com.kciftci.inghubsplatform.loanapi.app.rest.dto.LoanResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapping of entities and projections to response DTOs, and their JSON serialization.
+ */
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private static final ZonedDateTime CREATED_AT = ZonedDateTime.of(2024, 1, 15, 10, 30, 0, 0, ZoneId.of("Europe/Istanbul"));
+
+    @Param({"6", "24"})
+    private int numberOfInstallments;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private Loan loan;
+    private List<LoanInstallmentView> installments;
+
+    @Setup
+    public void setUp() {
+        loan = Loan.builder()
+            .id(1L)
+            .customer(Customer.builder().id(1L).build())
+            .loanAmount(new BigDecimal("5000.00"))
+            .interest(new BigDecimal("0.15"))
+            .numberOfInstallment(numberOfInstallments)
+            .createdAt(CREATED_AT)
+            .build();
+
+        installments = new ArrayList<>(numberOfInstallments);
+        for (int i = 0; i < numberOfInstallments; i++) {
+            installments.add(LoanInstallmentView.builder()
+                .id(i + 1L)
+                .loanId(1L)
+                .customerId(1L)
+                .amount(new BigDecimal("479.17"))
+                .paidAmount(i < 2 ? new BigDecimal("470.54") : BigDecimal.ZERO)
+                .dueDate(CREATED_AT.plusMonths(i + 1))
+                .paymentDate(i < 2 ? CREATED_AT.plusDays(3) : null)
+                .isPaid(i < 2)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public LoanResponse mapLoan() {
+        return LoanResponse.of(loan);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeLoan() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(LoanResponse.of(loan));
+    }
+
+    @Benchmark
+    public List<LoanInstallmentResponse> mapInstallments() {
+        return LoanInstallmentResponse.listOf(installments);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeInstallments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(LoanInstallmentResponse.listOf(installments));
+    }
+}
@@ -0,0 +1,16 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+/**
+ * How request start times are spaced at the target rate. Either way the start times are fixed in
+ * advance and do not wait for earlier responses (open model).
+ */
+public enum Arrival {
+    /**
+     * Exponentially distributed gaps, as independent clients arriving at random.
+     */
+    POISSON,
+    /**
+     * Evenly spaced gaps.
+     */
+    UNIFORM
+}
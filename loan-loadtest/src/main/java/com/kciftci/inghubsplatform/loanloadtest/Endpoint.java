@@ -0,0 +1,15 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+    CREATE("POST /loan"),
+    LIST("GET /loan"),
+    INSTALLMENTS("GET /loan/installments/{loanId}"),
+    PAY("POST /loan/pay/{loanId}");
+
+    private final String route;
+}
@@ -0,0 +1,80 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of the measured requests of one endpoint. Latencies are recorded in
+ * microseconds from the intended start time of each request, so a stalled server cannot hide queueing
+ * delay (coordinated omission).
+ */
+public class EndpointStats {
+
+    @Getter
+    private final Endpoint endpoint;
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void recordResponse(int status, long latencyNanos) {
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    public void recordFailure(long latencyNanos) {
+        failed.increment();
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public Histogram latencies() {
+        return latencies.copy();
+    }
+
+    /**
+     * @return 2xx responses
+     */
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return 4xx responses, such as paying a loan with nothing left to pay
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return 5xx responses, timeouts and connection errors
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return requests not sent because {@code --max-in-flight} requests were already waiting
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+}
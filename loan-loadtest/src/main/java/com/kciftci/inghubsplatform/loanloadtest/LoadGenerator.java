@@ -0,0 +1,196 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator. Start times are drawn up front at the target rate and requests are sent
+ * asynchronously, so a slow server makes requests queue up instead of lowering the offered load.
+ * Requests that start during warmup are sent but not recorded.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final String ADMIN_AUTHORIZATION = SyntheticCustomer.basicAuthorization("admin", "admin123");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final URI baseUri;
+    private final List<SyntheticCustomer> customers;
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadGenerator(URI baseUri, List<SyntheticCustomer> customers, LoadTestOptions options) {
+        this.baseUri = baseUri;
+        this.customers = customers;
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.random = new SplittableRandom(options.getSeed());
+
+        this.endpoints = options.getMix().keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += options.getMix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (Endpoint endpoint : endpoints) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public LoadTestReport run() {
+        long startedAt = System.nanoTime();
+        long measuredFrom = startedAt + options.getWarmup().toNanos();
+        long endAt = measuredFrom + options.getDuration().toNanos();
+        log.info("Offering {} requests/s with {} arrival for {} after {} warmup", options.getRate(), options.getArrival(),
+            options.getDuration(), options.getWarmup());
+
+        long nextStart = startedAt;
+        long nextProgress = measuredFrom;
+        while (nextStart < endAt) {
+            parkUntil(nextStart);
+            boolean measured = nextStart >= measuredFrom;
+            Endpoint endpoint = nextEndpoint();
+
+            if (inFlight.get() >= options.getMaxInFlight()) {
+                if (measured) {
+                    stats.get(endpoint).recordDropped();
+                }
+            } else {
+                send(endpoint, nextStart, measured);
+            }
+
+            if (nextStart >= nextProgress) {
+                log.info("{} s measured, {} requests in flight", TimeUnit.NANOSECONDS.toSeconds(nextStart - measuredFrom), inFlight.get());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+            nextStart += nextGapNanos();
+        }
+
+        awaitInFlight();
+        return new LoadTestReport(options.getDuration(), List.copyOf(stats.values()));
+    }
+
+    private void send(Endpoint endpoint, long intendedStart, boolean measured) {
+        SyntheticCustomer customer = customers.get(random.nextInt(customers.size()));
+        HttpRequest request = request(endpoint, customer);
+        EndpointStats endpointStats = stats.get(endpoint);
+
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intendedStart;
+                inFlight.decrementAndGet();
+                if (error != null) {
+                    if (measured) {
+                        endpointStats.recordFailure(latency);
+                    }
+                    log.debug("{} failed", endpoint.getRoute(), error);
+                    return;
+                }
+                if (measured) {
+                    endpointStats.recordResponse(response.statusCode(), latency);
+                }
+                if (endpoint == Endpoint.CREATE && response.statusCode() / 100 == 2) {
+                    customer.addLoan(createdLoanId(response.body()));
+                }
+            });
+    }
+
+    private HttpRequest request(Endpoint endpoint, SyntheticCustomer customer) {
+        return switch (endpoint) {
+            case CREATE -> post("/loan", ADMIN_AUTHORIZATION, """
+                {"customerId": %d, "amount": %s, "interest": %s, "numberOfInstallments": %d}"""
+                .formatted(customer.getCustomerId(), Seeder.LOAN_AMOUNT, Seeder.LOAN_INTEREST, Seeder.LOAN_INSTALLMENTS));
+            case LIST -> get("/loan?size=50&customerId=" + customer.getCustomerId(), customer.getAuthorization());
+            case INSTALLMENTS -> get("/loan/installments/" + customer.randomLoanId(random), customer.getAuthorization());
+            // one installment of a seeded loan: 1000 * 1.2 / 24
+            case PAY -> post("/loan/pay/" + customer.randomLoanId(random), customer.getAuthorization(), """
+                {"amount": 50.00, "paymentDate": "%s"}""".formatted(Instant.now()));
+        };
+    }
+
+    private HttpRequest get(String path, String authorization) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", authorization)
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, String authorization, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", authorization)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private long createdLoanId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected create loan response: " + body, e);
+        }
+    }
+
+    private Endpoint nextEndpoint() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("No endpoint for " + pick);
+    }
+
+    private long nextGapNanos() {
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        if (options.getArrival() == Arrival.UNIFORM) {
+            return Math.max(1, Math.round(meanGapNanos));
+        }
+        return Math.max(1, Math.round(-Math.log(1 - random.nextDouble()) * meanGapNanos));
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still in flight after {}", inFlight.get(), DRAIN_TIMEOUT);
+        }
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long delay;
+        while ((delay = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(delay);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import com.kciftci.inghubsplatform.loanapi.LoanApiApplication;
+import com.kciftci.inghubsplatform.loanapi.app.LoanPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Starts the loan API on a random port with a private in-memory H2 database, seeds synthetic
+ * customers and drives the REST endpoints over HTTP. See {@link LoadTestOptions} for the arguments.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoanApiApplication.class)
+            .run(applicationArguments(options))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            List<SyntheticCustomer> customers = new Seeder(context.getBean(JdbcTemplate.class), context.getBean(LoanPort.class))
+                .seed(options.getCustomers(), options.getLoansPerCustomer());
+            LoadTestReport report = new LoadGenerator(URI.create("http://localhost:" + port), customers, options).run();
+
+            System.out.println();
+            System.out.println("threads: " + options.getThreads().name().toLowerCase(Locale.ROOT));
+            System.out.print(report.format());
+            System.out.println();
+            System.out.print(new SqlStatementReport(context.getBean(MeterRegistry.class)).format());
+        }
+    }
+
+    /**
+     * Command-line arguments override the profile configuration, so the run never touches a shared
+     * database and the server log stays quiet.
+     */
+    private static String[] applicationArguments(LoadTestOptions options) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", options.getThreads() == ThreadMode.VIRTUAL ? "local,virtual" : "local");
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loan-loadtest;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.h2.console.enabled", false);
+        properties.put("logging.level.root", "warn");
+        properties.put("logging.level.com.kciftci.inghubsplatform.loanloadtest", "info");
+        properties.putAll(options.getAppProperties());
+
+        return properties.entrySet().stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toArray(String[]::new);
+    }
+}
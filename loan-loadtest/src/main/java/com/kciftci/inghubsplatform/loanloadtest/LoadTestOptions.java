@@ -0,0 +1,109 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options of a load test run, given as {@code --name=value} arguments. Arguments starting with
+ * {@code --app.} are passed to the application under test without the prefix, for example
+ * {@code --app.loan.schedule.storage=COMPACT}.
+ */
+@Data
+@Builder
+public class LoadTestOptions {
+
+    @Builder.Default
+    private double rate = 200;
+    @Builder.Default
+    private Duration duration = Duration.ofSeconds(60);
+    @Builder.Default
+    private Duration warmup = Duration.ofSeconds(10);
+    @Builder.Default
+    private int customers = 500;
+    @Builder.Default
+    private int loansPerCustomer = 4;
+    @Builder.Default
+    private Map<Endpoint, Integer> mix = parseMix("create=1,list=3,installments=4,pay=2");
+    @Builder.Default
+    private Arrival arrival = Arrival.POISSON;
+    @Builder.Default
+    private int maxInFlight = 2000;
+    @Builder.Default
+    private long seed = 42;
+    @Builder.Default
+    private ThreadMode threads = ThreadMode.PLATFORM;
+    @Builder.Default
+    private Map<String, Object> appProperties = new HashMap<>();
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptionsBuilder builder = LoadTestOptions.builder();
+        Map<String, Object> appProperties = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            if (name.startsWith("app.")) {
+                appProperties.put(name.substring("app.".length()), value);
+                continue;
+            }
+            switch (name) {
+                case "rate" -> builder.rate(Double.parseDouble(value));
+                case "duration" -> builder.duration(Duration.parse(value));
+                case "warmup" -> builder.warmup(Duration.parse(value));
+                case "customers" -> builder.customers(Integer.parseInt(value));
+                case "loans-per-customer" -> builder.loansPerCustomer(Integer.parseInt(value));
+                case "mix" -> builder.mix(parseMix(value));
+                case "arrival" -> builder.arrival(Arrival.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "max-in-flight" -> builder.maxInFlight(Integer.parseInt(value));
+                case "seed" -> builder.seed(Long.parseLong(value));
+                case "threads" -> builder.threads(ThreadMode.valueOf(value.toUpperCase(Locale.ROOT)));
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        LoadTestOptions options = builder.appProperties(appProperties).build();
+        if (options.getRate() <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (options.getCustomers() <= 0 || options.getLoansPerCustomer() <= 0) {
+            throw new IllegalArgumentException("--customers and --loans-per-customer must be positive");
+        }
+        if (options.getThreads() == ThreadMode.VIRTUAL && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("--threads=virtual needs Java 21 or later");
+        }
+        return options;
+    }
+
+    /**
+     * Parses relative weights such as {@code create=1,list=3,installments=4,pay=2}. Endpoints that are
+     * not listed get no traffic.
+     */
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight in --mix but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights in --mix must not be negative: " + entry);
+            }
+            mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix must give at least one endpoint a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,61 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Throughput and latency percentiles per endpoint, plus a total over all endpoints.
+ */
+@RequiredArgsConstructor
+public class LoadTestReport {
+
+    private static final String HEADER = "%-32s %10s %10s %10s %8s %8s %12s %10s %10s %10s %10s%n";
+    private static final String ROW = "%-32s %10d %10d %10d %8d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n";
+
+    private final Duration measured;
+    private final List<EndpointStats> stats;
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, HEADER, "endpoint", "requests", "2xx", "4xx", "failed", "dropped",
+            "throughput/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        Histogram total = new Histogram(3);
+        long succeeded = 0;
+        long rejected = 0;
+        long failed = 0;
+        long dropped = 0;
+        for (EndpointStats endpointStats : stats) {
+            Histogram latencies = endpointStats.latencies();
+            appendRow(report, endpointStats.getEndpoint().getRoute(), latencies, endpointStats.succeeded(),
+                endpointStats.rejected(), endpointStats.failed(), endpointStats.dropped());
+            total.add(latencies);
+            succeeded += endpointStats.succeeded();
+            rejected += endpointStats.rejected();
+            failed += endpointStats.failed();
+            dropped += endpointStats.dropped();
+        }
+        appendRow(report, "total", total, succeeded, rejected, failed, dropped);
+        return report.toString();
+    }
+
+    private void appendRow(StringBuilder report, String name, Histogram latencies,
+                           long succeeded, long rejected, long failed, long dropped) {
+        long requests = latencies.getTotalCount();
+        double seconds = measured.toNanos() / 1_000_000_000.0;
+        report.append(String.format(Locale.ROOT, ROW, name, requests, succeeded, rejected, failed, dropped,
+            requests / seconds,
+            millis(latencies.getValueAtPercentile(50)),
+            millis(latencies.getValueAtPercentile(99)),
+            millis(latencies.getValueAtPercentile(99.9)),
+            millis(latencies.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
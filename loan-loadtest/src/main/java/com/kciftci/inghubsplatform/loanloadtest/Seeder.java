@@ -0,0 +1,76 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import com.kciftci.inghubsplatform.loanapi.app.LoanPort;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanApplication;
+import com.kciftci.inghubsplatform.loanapi.app.model.LoanCreationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds synthetic customers, their users and their initial loans straight into the application
+ * under test, so the run starts with data to list and pay.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class Seeder {
+
+    static final BigDecimal LOAN_AMOUNT = new BigDecimal("1000");
+    static final BigDecimal LOAN_INTEREST = new BigDecimal("0.2");
+    static final int LOAN_INSTALLMENTS = 24;
+
+    private static final long FIRST_CUSTOMER_ID = 100_000L;
+    private static final BigDecimal CREDIT_LIMIT = new BigDecimal("1000000000");
+    private static final String PASSWORD = "loadtest123";
+    private static final int LOAN_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanPort loanPort;
+
+    public List<SyntheticCustomer> seed(int customers, int loansPerCustomer) {
+        long startedAt = System.nanoTime();
+        // BCrypt is slow on purpose; all synthetic users share one hash
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        List<SyntheticCustomer> syntheticCustomers = new ArrayList<>(customers);
+        List<Object[]> customerRows = new ArrayList<>(customers);
+        List<Object[]> userRows = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            long customerId = FIRST_CUSTOMER_ID + i;
+            String username = "loadtest-" + customerId;
+            customerRows.add(new Object[]{customerId, "Load", "Test " + i, CREDIT_LIMIT, BigDecimal.ZERO});
+            userRows.add(new Object[]{username, passwordHash, "CUSTOMER", customerId});
+            syntheticCustomers.add(new SyntheticCustomer(customerId, username, PASSWORD));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (id, name, surname, credit_limit, used_credit_limit) VALUES (?, ?, ?, ?, ?)",
+            customerRows);
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, role, customer_id) VALUES (?, ?, ?, ?)", userRows);
+
+        List<LoanApplication> applications = new ArrayList<>(customers * loansPerCustomer);
+        for (SyntheticCustomer customer : syntheticCustomers) {
+            for (int i = 0; i < loansPerCustomer; i++) {
+                applications.add(new LoanApplication(customer.getCustomerId(), LOAN_AMOUNT, LOAN_INTEREST, LOAN_INSTALLMENTS));
+            }
+        }
+        for (int from = 0; from < applications.size(); from += LOAN_CHUNK_SIZE) {
+            List<LoanApplication> chunk = applications.subList(from, Math.min(from + LOAN_CHUNK_SIZE, applications.size()));
+            List<LoanCreationResult> results = loanPort.createLoans(chunk);
+            for (int i = 0; i < results.size(); i++) {
+                LoanCreationResult result = results.get(i);
+                if (!result.isCreated()) {
+                    throw new IllegalStateException("Could not seed loan: " + result.getError());
+                }
+                syntheticCustomers.get((from + i) / loansPerCustomer).addLoan(result.getLoan().getId());
+            }
+        }
+
+        log.info("Seeded {} customers with {} loans each in {} ms", customers, loansPerCustomer,
+            (System.nanoTime() - startedAt) / 1_000_000);
+        return syntheticCustomers;
+    }
+}
@@ -0,0 +1,35 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * SQL statements per request, read from the server's {@code loan.sql.statements} summaries. Warmup
+ * requests are included, and the section is empty when statement counting is disabled.
+ */
+@RequiredArgsConstructor
+public class SqlStatementReport {
+
+    private static final String HEADER = "%-40s %10s %10s %10s %10s%n";
+    private static final String ROW = "%-40s %10d %10d %10.2f %10.0f%n";
+
+    private final MeterRegistry meterRegistry;
+
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, HEADER, "sql statements", "requests", "total", "mean", "max"));
+        meterRegistry.find("loan.sql.statements").summaries().stream()
+            .sorted(Comparator.comparing(SqlStatementReport::name))
+            .forEach(summary -> report.append(String.format(Locale.ROOT, ROW, name(summary), summary.count(),
+                (long) summary.totalAmount(), summary.mean(), summary.max())));
+        return report.toString();
+    }
+
+    private static String name(DistributionSummary summary) {
+        return summary.getId().getTag("method") + " " + summary.getId().getTag("uri");
+    }
+}
@@ -0,0 +1,39 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A seeded customer with its login and the ids of its loans, including loans created during the run.
+ */
+public class SyntheticCustomer {
+
+    @Getter
+    private final long customerId;
+    @Getter
+    private final String authorization;
+    private final List<Long> loanIds = new ArrayList<>();
+
+    public SyntheticCustomer(long customerId, String username, String password) {
+        this.customerId = customerId;
+        this.authorization = basicAuthorization(username, password);
+    }
+
+    public synchronized void addLoan(long loanId) {
+        loanIds.add(loanId);
+    }
+
+    public synchronized long randomLoanId(SplittableRandom random) {
+        return loanIds.get(random.nextInt(loanIds.size()));
+    }
+
+    static String basicAuthorization(String username, String password) {
+        String credentials = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,15 @@
+package com.kciftci.inghubsplatform.loanloadtest;
+
+/**
+ * Threads the API under test serves requests on.
+ */
+public enum ThreadMode {
+    /**
+     * Tomcat's pool of platform threads, the default.
+     */
+    PLATFORM,
+    /**
+     * One virtual thread per request, enabled through the {@code virtual} profile. Needs Java 21.
+     */
+    VIRTUAL
+}